@@ -0,0 +1,81 @@
+package io.fries.reflection.benchmarks;
+
+import io.fries.reflection.filters.ClassFileAnnotationFilter;
+import io.fries.reflection.filters.Filter;
+import io.fries.reflection.filters.PackageFilter;
+import io.fries.reflection.metadata.ResourceMetadata;
+import io.fries.reflection.scanners.ClassPathScanner;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtered scans of the JAR files of a {@link SyntheticClassPath}.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark {
+	
+	@Param({"20"})
+	public int jarCount;
+	
+	@Param({"1000"})
+	public int entriesPerJar;
+	
+	@Param({"3"})
+	public int packageDepth;
+	
+	private SyntheticClassPath classPath;
+	private ClassLoader classLoader;
+	private Filter packageFilter;
+	
+	@Setup
+	public void setup() throws IOException {
+		classPath = SyntheticClassPath.generate(jarCount, entriesPerJar, packageDepth);
+		classLoader = classPath.getJarClassLoader();
+		packageFilter = PackageFilter.withSubpackages(SyntheticClassPath.getRootPackage("jar0"));
+	}
+	
+	@TearDown
+	public void tearDown() throws IOException {
+		classPath.close();
+	}
+	
+	@Benchmark
+	public Set<ResourceMetadata> nameFilter() {
+		return ClassPathScanner.of(classLoader)
+			.filter((loader, resourceName) -> resourceName.endsWith(".class"))
+			.getResources();
+	}
+	
+	@Benchmark
+	public Set<ResourceMetadata> packageFilter() {
+		return ClassPathScanner.of(classLoader)
+			.filter(packageFilter)
+			.getResources();
+	}
+	
+	@Benchmark
+	public Set<ResourceMetadata> classFileAnnotationFilter() {
+		return ClassPathScanner.of(classLoader)
+			.filter(ClassFileAnnotationFilter.any(Marker.class))
+			.getResources();
+	}
+	
+	@Benchmark
+	public Set<ResourceMetadata> combinedFilters() {
+		return ClassPathScanner.of(classLoader)
+			.filter(ClassFileAnnotationFilter.any(Marker.class))
+			.filter(packageFilter)
+			.getResources();
+	}
+}
@@ -0,0 +1,74 @@
+package io.fries.reflection.benchmarks;
+
+import io.fries.reflection.Reflection;
+import io.fries.reflection.metadata.ClassMetadata;
+import io.fries.reflection.scanners.ClassPathScanner;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries of a {@link Reflection} instance built once from the JAR files of a {@link SyntheticClassPath}.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectionBenchmark {
+	
+	@Param({"20"})
+	public int jarCount;
+	
+	@Param({"1000"})
+	public int entriesPerJar;
+	
+	@Param({"3"})
+	public int packageDepth;
+	
+	private SyntheticClassPath classPath;
+	private Reflection reflection;
+	private String packageName;
+	private String packagePrefix;
+	
+	@Setup
+	public void setup() throws IOException {
+		classPath = SyntheticClassPath.generate(jarCount, entriesPerJar, packageDepth);
+		reflection = Reflection.of(ClassPathScanner.of(classPath.getJarClassLoader()));
+		
+		final String entryName = SyntheticClassPath.getEntryName("jar0", 1, packageDepth);
+		packageName = entryName.substring(0, entryName.lastIndexOf('/')).replace('/', '.');
+		packagePrefix = SyntheticClassPath.getRootPackage("jar0");
+	}
+	
+	@TearDown
+	public void tearDown() throws IOException {
+		classPath.close();
+	}
+	
+	@Benchmark
+	public Set<ClassMetadata> classesOfPackage() {
+		return reflection.getClasses(packageName);
+	}
+	
+	@Benchmark
+	public Set<ClassMetadata> classesRecursively() {
+		return reflection.getClassesRecursively(packagePrefix);
+	}
+	
+	@Benchmark
+	public Set<ClassMetadata> subClasses() {
+		return reflection.getSubClasses(Service.class.getName());
+	}
+	
+	@Benchmark
+	public Reflection build() {
+		return Reflection.of(() -> reflection.getResources());
+	}
+}
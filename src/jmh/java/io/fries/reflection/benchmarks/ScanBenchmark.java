@@ -0,0 +1,89 @@
+package io.fries.reflection.benchmarks;
+
+import io.fries.reflection.metadata.ResourceMetadata;
+import io.fries.reflection.scanners.ClassPathScanner;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full scans of a {@link SyntheticClassPath}, without any filter.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScanBenchmark {
+	
+	@Param({"20"})
+	public int jarCount;
+	
+	@Param({"1000"})
+	public int entriesPerJar;
+	
+	@Param({"3"})
+	public int packageDepth;
+	
+	private SyntheticClassPath classPath;
+	private ClassLoader jarClassLoader;
+	private ClassLoader directoryClassLoader;
+	private ExecutorService executor;
+	private File cache;
+	
+	@Setup
+	public void setup() throws IOException {
+		classPath = SyntheticClassPath.generate(jarCount, entriesPerJar, packageDepth);
+		jarClassLoader = classPath.getJarClassLoader();
+		directoryClassLoader = classPath.getDirectoryClassLoader();
+		executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		cache = classPath.getRoot().resolve("cache").toFile();
+		
+		ClassPathScanner.of(jarClassLoader).cache(cache).getResources();
+	}
+	
+	@TearDown
+	public void tearDown() throws IOException {
+		executor.shutdownNow();
+		classPath.close();
+	}
+	
+	@Benchmark
+	public Set<ResourceMetadata> directory() {
+		return ClassPathScanner.of(directoryClassLoader).getResources();
+	}
+	
+	@Benchmark
+	public Set<ResourceMetadata> jars() {
+		return ClassPathScanner.of(jarClassLoader).getResources();
+	}
+	
+	@Benchmark
+	public Set<ResourceMetadata> mappedJars() {
+		return ClassPathScanner.of(jarClassLoader).mappedJars().getResources();
+	}
+	
+	@Benchmark
+	public Set<ResourceMetadata> parallelJars() {
+		return ClassPathScanner.of(jarClassLoader).parallel(executor).getResources();
+	}
+	
+	@Benchmark
+	public Set<ResourceMetadata> cachedJars() {
+		return ClassPathScanner.of(jarClassLoader).cache(cache).getResources();
+	}
+	
+	@Benchmark
+	public long streamedJars() {
+		return ClassPathScanner.of(jarClassLoader).stream().count();
+	}
+}
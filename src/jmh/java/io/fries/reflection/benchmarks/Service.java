@@ -0,0 +1,10 @@
+package io.fries.reflection.benchmarks;
+
+/**
+ * Interface implemented by the {@link Marker annotated} classes of a {@link SyntheticClassPath}.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public interface Service {
+}
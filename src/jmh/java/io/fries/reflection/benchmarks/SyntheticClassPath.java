@@ -0,0 +1,228 @@
+package io.fries.reflection.benchmarks;
+
+import java.io.*;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+/**
+ * Class path generated on disk for the benchmarks: a set of JAR files and a directory, filled with minimal but valid
+ * class files and a few non-class resources.
+ * <p>
+ * Each JAR holds its entries in a package tree of the requested depth, rooted at {@code com.example.jar<index>}. One
+ * class out of {@link #ANNOTATED_RATIO} is annotated with {@link Marker} and implements {@link Service}, and one entry
+ * out of {@link #RESOURCE_RATIO} is a {@code .properties} file.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class SyntheticClassPath implements Closeable {
+	
+	static final int ANNOTATED_RATIO = 10;
+	static final int RESOURCE_RATIO = 20;
+	static final int CLASSES_PER_PACKAGE = 50;
+	
+	private static final String MARKER = Marker.class.getName().replace('.', '/');
+	private static final String SERVICE = Service.class.getName().replace('.', '/');
+	
+	private final Path root;
+	private final List<File> jars;
+	private final File directory;
+	
+	private SyntheticClassPath(final Path root, final List<File> jars, final File directory) {
+		this.root = root;
+		this.jars = jars;
+		this.directory = directory;
+	}
+	
+	/**
+	 * @param jarCount       The number of JAR files to generate.
+	 * @param entriesPerJar  The number of entries of each JAR file, and of the directory.
+	 * @param packageDepth   The number of nested packages below the root package of each JAR file.
+	 *
+	 * @return A new {@link SyntheticClassPath}, written in a temporary directory.
+	 *
+	 * @throws IOException If the class path cannot be written.
+	 */
+	static SyntheticClassPath generate(final int jarCount, final int entriesPerJar, final int packageDepth) throws IOException {
+		final Path root = Files.createTempDirectory("reflection-benchmark");
+		final List<File> jars = new ArrayList<>(jarCount);
+		
+		for(int i = 0; i < jarCount; i++) {
+			final File jar = root.resolve("library" + i + ".jar").toFile();
+			
+			try(final JarOutputStream out = new JarOutputStream(new BufferedOutputStream(new FileOutputStream(jar)), new Manifest())) {
+				for(int j = 0; j < entriesPerJar; j++) {
+					out.putNextEntry(new JarEntry(getEntryName("jar" + i, j, packageDepth)));
+					out.write(getContent("jar" + i, j, packageDepth));
+					out.closeEntry();
+				}
+			}
+			
+			jars.add(jar);
+		}
+		
+		final File directory = root.resolve("classes").toFile();
+		
+		for(int j = 0; j < entriesPerJar; j++) {
+			final File file = new File(directory, getEntryName("classes", j, packageDepth));
+			
+			Files.createDirectories(file.getParentFile().toPath());
+			Files.write(file.toPath(), getContent("classes", j, packageDepth));
+		}
+		
+		return new SyntheticClassPath(root, jars, directory);
+	}
+	
+	/**
+	 * @return The name of the {@code index}-th entry of a class path element, such as
+	 * {@code com/example/jar0/p0/p1/Type42.class}.
+	 */
+	static String getEntryName(final String element, final int index, final int packageDepth) {
+		final StringBuilder name = new StringBuilder(getRootPackage(element).replace('.', '/'));
+		final int packageIndex = index / CLASSES_PER_PACKAGE;
+		
+		for(int depth = 0; depth < packageDepth; depth++)
+			name.append("/p").append(depth == packageDepth - 1 ? packageIndex : depth);
+		
+		return (index % RESOURCE_RATIO == 0)
+			? name.append("/resource").append(index).append(".properties").toString()
+			: name.append("/Type").append(index).append(".class").toString();
+	}
+	
+	/**
+	 * @return The name of the root package of a class path element, such as {@code com.example.jar0}.
+	 */
+	static String getRootPackage(final String element) {
+		return "com.example." + element;
+	}
+	
+	private static byte[] getContent(final String element, final int index, final int packageDepth) throws IOException {
+		final String name = getEntryName(element, index, packageDepth);
+		
+		return (index % RESOURCE_RATIO == 0)
+			? ("key=" + index).getBytes()
+			: getClassFile(name.substring(0, name.length() - ".class".length()), index % ANNOTATED_RATIO == 0);
+	}
+	
+	/**
+	 * @return A minimal class file, declaring an empty public class optionally annotated with {@link Marker} and
+	 * implementing {@link Service}.
+	 */
+	private static byte[] getClassFile(final String internalName, final boolean annotated) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+		
+		out.writeInt(0xCAFEBABE);
+		out.writeShort(0); // minor_version
+		out.writeShort(52); // major_version
+		
+		out.writeShort(annotated ? 10 : 5); // constant_pool_count
+		out.writeByte(1);
+		out.writeUTF(internalName); // #1
+		out.writeByte(7);
+		out.writeShort(1); // #2
+		out.writeByte(1);
+		out.writeUTF("java/lang/Object"); // #3
+		out.writeByte(7);
+		out.writeShort(3); // #4
+		
+		if(annotated) {
+			out.writeByte(1);
+			out.writeUTF("RuntimeVisibleAnnotations"); // #5
+			out.writeByte(1);
+			out.writeUTF('L' + MARKER + ';'); // #6
+			out.writeByte(1);
+			out.writeUTF(SERVICE); // #7
+			out.writeByte(7);
+			out.writeShort(7); // #8
+			out.writeByte(1);
+			out.writeUTF("unused"); // #9
+		}
+		
+		out.writeShort(0x0021); // ACC_PUBLIC | ACC_SUPER
+		out.writeShort(2); // this_class
+		out.writeShort(4); // super_class
+		
+		out.writeShort(annotated ? 1 : 0); // interfaces_count
+		if(annotated)
+			out.writeShort(8);
+		
+		out.writeShort(0); // fields_count
+		out.writeShort(0); // methods_count
+		
+		out.writeShort(annotated ? 1 : 0); // attributes_count
+		if(annotated) {
+			out.writeShort(5);
+			out.writeInt(6);
+			out.writeShort(1); // num_annotations
+			out.writeShort(6); // type_index
+			out.writeShort(0); // num_element_value_pairs
+		}
+		
+		return bytes.toByteArray();
+	}
+	
+	/**
+	 * @return A new {@link ClassLoader} whose class path is made of the generated JAR files only.
+	 */
+	ClassLoader getJarClassLoader() {
+		return newClassLoader(jars.stream().map(File::toURI));
+	}
+	
+	/**
+	 * @return A new {@link ClassLoader} whose class path is made of the generated directory only.
+	 */
+	ClassLoader getDirectoryClassLoader() {
+		return newClassLoader(Stream.of(directory.toURI()));
+	}
+	
+	/**
+	 * The benchmark classes are visible to the generated classes through a parent which is not a
+	 * {@link URLClassLoader}, so that the scanners do not list the benchmark's own class path.
+	 */
+	private static ClassLoader newClassLoader(final Stream<URI> uris) {
+		final URL[] urls = uris.map(uri -> {
+			try {
+				return uri.toURL();
+			}
+			catch(final MalformedURLException e) {
+				throw new IllegalStateException(e);
+			}
+		}).toArray(URL[]::new);
+		
+		return new URLClassLoader(urls, new ClassLoader(null) {
+			@Override
+			protected Class<?> findClass(final String name) throws ClassNotFoundException {
+				return SyntheticClassPath.class.getClassLoader().loadClass(name);
+			}
+		});
+	}
+	
+	/**
+	 * @return The directory in which the class path was generated, also usable to store a scan cache.
+	 */
+	Path getRoot() {
+		return root;
+	}
+	
+	/**
+	 * Delete the generated files.
+	 */
+	@Override
+	public void close() throws IOException {
+		try(final Stream<Path> paths = Files.walk(root)) {
+			paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+		}
+	}
+}
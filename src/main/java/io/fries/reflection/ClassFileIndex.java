@@ -0,0 +1,111 @@
+package io.fries.reflection;
+
+import io.fries.reflection.metadata.ClassFile;
+import io.fries.reflection.metadata.ClassMetadata;
+import io.fries.reflection.metadata.MemberMetadata;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Index of a set of classes built from their class files: the direct subtypes of each type they reference, and their
+ * annotated members by annotation type.
+ * <p>
+ * The class files are read without defining the classes in their {@link ClassLoader}. Only the types extending or
+ * implementing each other through the indexed classes can be linked: a subtype is missed if the only path leading to
+ * it goes through a class that was not indexed.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class ClassFileIndex {
+	
+	private final Map<String, List<ClassMetadata>> directSubTypes;
+	private final Map<String, List<MemberMetadata>> annotatedMembers;
+	
+	private ClassFileIndex(final Map<String, List<ClassMetadata>> directSubTypes, final Map<String, List<MemberMetadata>> annotatedMembers) {
+		this.directSubTypes = directSubTypes;
+		this.annotatedMembers = annotatedMembers;
+	}
+	
+	/**
+	 * Read the class file of each provided class. The classes whose class file cannot be read are ignored.
+	 *
+	 * @param classes The classes to index.
+	 *
+	 * @return A new {@link ClassFileIndex} instance.
+	 */
+	static ClassFileIndex of(final Set<ClassMetadata> classes) {
+		final Map<String, List<ClassMetadata>> directSubTypes = new HashMap<>();
+		final Map<String, List<MemberMetadata>> annotatedMembers = new HashMap<>();
+		
+		for(ClassMetadata classMetadata : classes) {
+			final Optional<ClassFile> read = read(classMetadata);
+			
+			if(!read.isPresent())
+				continue;
+			
+			final ClassFile classFile = read.get();
+			
+			if(classFile.getSuperName() != null)
+				directSubTypes.computeIfAbsent(classFile.getSuperName(), name -> new ArrayList<>()).add(classMetadata);
+			
+			for(String interfaceName : classFile.getInterfaces())
+				directSubTypes.computeIfAbsent(interfaceName, name -> new ArrayList<>()).add(classMetadata);
+			
+			for(ClassFile.Member field : classFile.getAnnotatedFields())
+				addMember(annotatedMembers, MemberMetadata.field(classMetadata, field));
+			
+			for(ClassFile.Member method : classFile.getAnnotatedMethods())
+				addMember(annotatedMembers, MemberMetadata.method(classMetadata, method));
+		}
+		
+		return new ClassFileIndex(directSubTypes, annotatedMembers);
+	}
+	
+	private static Optional<ClassFile> read(final ClassMetadata classMetadata) {
+		try(final InputStream in = classMetadata.getUrl().openStream()) {
+			return Optional.of(ClassFile.read(in));
+		}
+		catch(final IOException | RuntimeException e) {
+			return Optional.empty();
+		}
+	}
+	
+	private static void addMember(final Map<String, List<MemberMetadata>> annotatedMembers, final MemberMetadata member) {
+		for(String annotation : member.getAnnotations())
+			annotatedMembers.computeIfAbsent(annotation, name -> new ArrayList<>()).add(member);
+	}
+	
+	/**
+	 * @param typeName The binary name of a class or an interface, such as {@code com.example.Outer$Inner}.
+	 *
+	 * @return The indexed classes extending or implementing the provided type, directly or not, in breadth-first order.
+	 * The type itself is not included.
+	 */
+	Set<ClassMetadata> getSubTypes(final String typeName) {
+		final Set<ClassMetadata> subTypes = new LinkedHashSet<>();
+		final Deque<String> pending = new ArrayDeque<>();
+		
+		pending.add(typeName);
+		
+		while(!pending.isEmpty()) {
+			for(ClassMetadata subType : directSubTypes.getOrDefault(pending.poll(), Collections.emptyList())) {
+				if(subTypes.add(subType))
+					pending.add(subType.getName());
+			}
+		}
+		
+		return subTypes;
+	}
+	
+	/**
+	 * @param annotationName The binary name of an annotation type.
+	 *
+	 * @return The fields, methods and constructors of the indexed classes directly annotated with the provided type.
+	 */
+	List<MemberMetadata> getAnnotatedMembers(final String annotationName) {
+		return annotatedMembers.getOrDefault(annotationName, Collections.emptyList());
+	}
+}
@@ -0,0 +1,64 @@
+package io.fries.reflection;
+
+import io.fries.reflection.scanners.ClassPathWatcher;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Always up to date {@link Reflection} of a watched class path.
+ * <p>
+ * Each time the {@link ClassPathWatcher} publishes new resources, a new immutable {@link Reflection} snapshot is built
+ * and atomically swapped with the previous one. Readers calling {@link #get()} are never blocked by the updates, and
+ * keep a consistent view for as long as they hold on to the returned snapshot.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LiveReflection implements AutoCloseable {
+	
+	private final ClassPathWatcher watcher;
+	private final AtomicReference<Reflection> snapshot;
+	
+	/**
+	 * @param watcher The {@link ClassPathWatcher} providing the resources.
+	 */
+	private LiveReflection(final ClassPathWatcher watcher) {
+		this.watcher = watcher;
+		this.snapshot = new AtomicReference<>();
+		
+		watcher.onUpdate(resources -> snapshot.set(Reflection.of(() -> resources)));
+		
+		// An update published in the meantime is more recent than the initial resources.
+		snapshot.compareAndSet(null, Reflection.of(watcher));
+	}
+	
+	/**
+	 * @param watcher The {@link ClassPathWatcher} providing the resources.
+	 *
+	 * @return A new {@link LiveReflection} instance.
+	 */
+	public static LiveReflection of(final ClassPathWatcher watcher) {
+		if(watcher == null)
+			throw new IllegalArgumentException("Watcher cannot be null");
+		
+		return new LiveReflection(watcher);
+	}
+	
+	/**
+	 * @return The latest {@link Reflection} snapshot.
+	 */
+	public Reflection get() {
+		return snapshot.get();
+	}
+	
+	/**
+	 * Stop watching the class path. The last snapshot remains available.
+	 *
+	 * @throws IOException If the underlying {@link ClassPathWatcher} cannot be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		watcher.close();
+	}
+}
@@ -0,0 +1,145 @@
+package io.fries.reflection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Bounded parallel mapping of a list, used to load many classes at once.
+ * <p>
+ * The calling thread takes part in the work along with at most {@code parallelism - 1} tasks of the {@link Executor}.
+ * It only waits for the items already taken by a running task, never for a task that has not started: the mapping
+ * completes even if the executor is busy, saturated or rejects the tasks.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class ParallelLoader {
+	
+	private final Executor executor;
+	private final int parallelism;
+	
+	/**
+	 * @param executor    The {@link Executor} running the helper tasks.
+	 * @param parallelism The maximum number of threads mapping the items at once, including the calling thread.
+	 */
+	ParallelLoader(final Executor executor, final int parallelism) {
+		this.executor = executor;
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Apply the provided function to every item. An exception thrown for an item does not prevent the others from
+	 * being mapped; the first one is rethrown once all the items have been mapped.
+	 *
+	 * @param items    The items to map.
+	 * @param function The mapping function, called concurrently.
+	 * @param <T>      The type of the items.
+	 * @param <R>      The type of the results.
+	 *
+	 * @return The results, in the order of the items.
+	 */
+	<T, R> List<R> map(final List<T> items, final Function<T, R> function) {
+		final int helpers = Math.min(parallelism, items.size()) - 1;
+		
+		if(helpers <= 0) {
+			final List<R> results = new ArrayList<>(items.size());
+			
+			for(T item : items)
+				results.add(function.apply(item));
+			
+			return results;
+		}
+		
+		final Batch<T, R> batch = new Batch<>(items, function);
+		
+		for(int i = 0; i < helpers; i++) {
+			try {
+				executor.execute(batch::work);
+			}
+			catch(final RejectedExecutionException e) {
+				break;
+			}
+		}
+		
+		batch.work();
+		return batch.join();
+	}
+	
+	/**
+	 * The state of a single mapping, shared by the calling thread and the helper tasks.
+	 */
+	private static final class Batch<T, R> {
+		
+		private final List<T> items;
+		private final Function<T, R> function;
+		private final Object[] results;
+		private final AtomicInteger nextIndex;
+		private final AtomicInteger completed;
+		private Throwable failure;
+		
+		private Batch(final List<T> items, final Function<T, R> function) {
+			this.items = items;
+			this.function = function;
+			this.results = new Object[items.size()];
+			this.nextIndex = new AtomicInteger();
+			this.completed = new AtomicInteger();
+			this.failure = null;
+		}
+		
+		private void work() {
+			int index;
+			
+			while((index = nextIndex.getAndIncrement()) < results.length) {
+				try {
+					results[index] = function.apply(items.get(index));
+				}
+				catch(final RuntimeException | Error e) {
+					synchronized(this) {
+						if(failure == null)
+							failure = e;
+					}
+				}
+				finally {
+					if(completed.incrementAndGet() == results.length) {
+						synchronized(this) {
+							notifyAll();
+						}
+					}
+				}
+			}
+		}
+		
+		@SuppressWarnings("unchecked")
+		private List<R> join() {
+			boolean interrupted = false;
+			
+			synchronized(this) {
+				while(completed.get() < results.length) {
+					try {
+						wait();
+					}
+					catch(final InterruptedException e) {
+						interrupted = true;
+					}
+				}
+			}
+			
+			if(interrupted)
+				Thread.currentThread().interrupt();
+			
+			synchronized(this) {
+				if(failure instanceof RuntimeException)
+					throw (RuntimeException) failure;
+				if(failure instanceof Error)
+					throw (Error) failure;
+			}
+			
+			return (List<R>) Arrays.asList(results);
+		}
+	}
+}
@@ -1,19 +1,29 @@
 package io.fries.reflection;
 
 import io.fries.reflection.metadata.ClassMetadata;
+import io.fries.reflection.metadata.MemberMetadata;
 import io.fries.reflection.metadata.ResourceMetadata;
 import io.fries.reflection.scanners.Scanner;
 
 import java.lang.annotation.Annotation;
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+
 /**
  * Entry point of the Reflection API.
  * <p>
- * Use the {@link Reflection#of(Scanner)} method to create a new {@link Reflection} object.
+ * Use the {@link Reflection#of(Scanner)} method to create a new {@link Reflection} object, or
+ * {@link Reflection#ofAsync(Scanner, Executor)} to scan in the background while the application keeps starting.
  * <p>
  * Then use the various {@code get} methods to gather the resources you need.
  *
@@ -25,14 +35,74 @@ public class Reflection {
 	
 	private final Set<ResourceMetadata> resources;
 	
+	private final Set<ResourceMetadata> simpleResources;
+	private final Set<ClassMetadata> classes;
+	private final Set<ClassMetadata> topLevelClasses;
+	private final NavigableMap<String, Set<ClassMetadata>> classesByPackage;
+	private final NavigableMap<String, Set<ClassMetadata>> topLevelClassesByPackage;
+	
+	private final ConcurrentMap<ClassMetadata, Optional<Class<?>>> loadedTypes;
+	private final ConcurrentMap<String, Set<Class<?>>> typesByPackage;
+	private volatile Set<Class<?>> types;
+	private volatile ParallelLoader parallelLoader;
+	
+	private volatile ClassFileIndex classFileIndex;
+	private final ConcurrentMap<String, Set<ClassMetadata>> subTypesByName;
+	private final ConcurrentMap<String, Set<MemberMetadata>> membersByAnnotation;
+	
 	/**
 	 * Create a new {@link Reflection} object holding a {@link Set} of {@link ResourceMetadata}.
-	 * Only the {@link Reflection#of(Scanner)} method can be used to create a new instance of this class.
+	 * Only the {@link Reflection#of(Scanner)} and {@link Reflection#ofAsync(Scanner, Executor)} methods can be used to
+	 * create a new instance of this class.
+	 * <p>
+	 * The resources are indexed once, by kind and by package, so that the package queries only visit the matching
+	 * packages instead of the whole set of resources.
 	 *
 	 * @param resources The {@link Set<ResourceMetadata>} which were gathered by a specific {@link Scanner}.
 	 */
 	private Reflection(final Set<ResourceMetadata> resources) {
-		this.resources = resources;
+		this.resources = unmodifiableSet(resources);
+		
+		final Set<ResourceMetadata> simpleResources = new LinkedHashSet<>();
+		final Set<ClassMetadata> classes = new LinkedHashSet<>();
+		final Set<ClassMetadata> topLevelClasses = new LinkedHashSet<>();
+		final NavigableMap<String, Set<ClassMetadata>> classesByPackage = new TreeMap<>();
+		final NavigableMap<String, Set<ClassMetadata>> topLevelClassesByPackage = new TreeMap<>();
+		
+		for(ResourceMetadata resource : resources) {
+			if(!(resource instanceof ClassMetadata)) {
+				simpleResources.add(resource);
+				continue;
+			}
+			
+			final ClassMetadata classMetadata = (ClassMetadata) resource;
+			
+			classes.add(classMetadata);
+			classesByPackage.computeIfAbsent(classMetadata.getPackage(), packageName -> new LinkedHashSet<>()).add(classMetadata);
+			
+			if(classMetadata.getName().indexOf('$') == -1) {
+				topLevelClasses.add(classMetadata);
+				topLevelClassesByPackage.computeIfAbsent(classMetadata.getPackage(), packageName -> new LinkedHashSet<>()).add(classMetadata);
+			}
+		}
+		
+		classesByPackage.replaceAll((packageName, bucket) -> unmodifiableSet(bucket));
+		topLevelClassesByPackage.replaceAll((packageName, bucket) -> unmodifiableSet(bucket));
+		
+		this.simpleResources = unmodifiableSet(simpleResources);
+		this.classes = unmodifiableSet(classes);
+		this.topLevelClasses = unmodifiableSet(topLevelClasses);
+		this.classesByPackage = classesByPackage;
+		this.topLevelClassesByPackage = topLevelClassesByPackage;
+		
+		this.loadedTypes = new ConcurrentHashMap<>(classes.size());
+		this.typesByPackage = new ConcurrentHashMap<>();
+		this.types = null;
+		this.parallelLoader = null;
+		
+		this.classFileIndex = null;
+		this.subTypesByName = new ConcurrentHashMap<>();
+		this.membersByAnnotation = new ConcurrentHashMap<>();
 	}
 	
 	/**
@@ -45,154 +115,416 @@ public class Reflection {
 	}
 	
 	/**
-	 * @return A copy of the {@link #resources} attributes.
+	 * Run the reflection process in the background, so that the scan overlaps with the rest of the application's
+	 * initialization. The returned future is joined only when the results are needed.
+	 * <p>
+	 * The future completes exceptionally with any exception thrown by the {@link Scanner}, or with a
+	 * {@link RejectedExecutionException} if the {@link Executor} refuses the task. With a
+	 * {@link io.fries.reflection.scanners.ClassPathScanner#failOnError() failOnError()} scanner, an unreadable class
+	 * path element fails the future with a {@link io.fries.reflection.scanners.ScanException} instead of completing it
+	 * without the element's resources. Cancelling the future before the task starts prevents the scan; cancelling it
+	 * during the scan discards its result without indexing it. A running scan is not interrupted.
+	 *
+	 * @param scanner  The {@link Scanner} instance to which the reflection process is delegated.
+	 * @param executor The {@link Executor} running the scan.
+	 *
+	 * @return A {@link CompletableFuture} completed with a {@link Reflection} instance initialized using the
+	 * {@link Scanner} resources.
+	 */
+	public static CompletableFuture<Reflection> ofAsync(final Scanner scanner, final Executor executor) {
+		if(scanner == null)
+			throw new IllegalArgumentException("Scanner cannot be null");
+		if(executor == null)
+			throw new IllegalArgumentException("Executor cannot be null");
+		
+		final CompletableFuture<Reflection> reflection = new CompletableFuture<>();
+		
+		try {
+			executor.execute(() -> {
+				if(reflection.isDone())
+					return;
+				
+				try {
+					final Set<ResourceMetadata> resources = scanner.getResources();
+					
+					if(!reflection.isDone())
+						reflection.complete(new Reflection(resources));
+				}
+				catch(final RuntimeException | Error e) {
+					reflection.completeExceptionally(e);
+				}
+			});
+		}
+		catch(final RejectedExecutionException e) {
+			reflection.completeExceptionally(e);
+		}
+		
+		return reflection;
+	}
+	
+	/**
+	 * Load the classes in parallel from now on: the {@code getTypes} and {@code getAnnotatedTypes} methods then load
+	 * their classes on the calling thread and on up to {@code parallelism - 1} tasks of the provided {@link Executor}.
+	 * With a parallel-capable {@link ClassLoader}, a bulk load such as {@link #getTypes()} scales with the available
+	 * cores.
+	 * <p>
+	 * The classes are never initialized, and a class that cannot be loaded is skipped without affecting the others.
+	 *
+	 * @param executor    The {@link Executor} (e.g. a {@link java.util.concurrent.ForkJoinPool}) loading the classes.
+	 * @param parallelism The maximum number of classes loaded at once, such as
+	 *                    {@link Runtime#availableProcessors()}.
+	 *
+	 * @return This {@link Reflection} instance.
+	 */
+	public Reflection parallelLoading(final Executor executor, final int parallelism) {
+		if(executor == null)
+			throw new IllegalArgumentException("Executor cannot be null");
+		if(parallelism < 1)
+			throw new IllegalArgumentException("Parallelism must be positive");
+		
+		this.parallelLoader = new ParallelLoader(executor, parallelism);
+		return this;
+	}
+	
+	/**
+	 * @param index       A package index.
+	 * @param packageName The name of the target package.
+	 *
+	 * @return The classes of the provided package.
+	 */
+	private static Set<ClassMetadata> getPackage(final NavigableMap<String, Set<ClassMetadata>> index, final String packageName) {
+		return index.getOrDefault(packageName, emptySet());
+	}
+	
+	/**
+	 * Visit the packages whose name starts with {@code packagePrefix}, which are contiguous in the sorted index.
+	 *
+	 * @param index         A package index.
+	 * @param packagePrefix The prefix of all the targeted packages.
+	 *
+	 * @return An unmodifiable set containing the classes of the matching packages.
+	 */
+	private static Set<ClassMetadata> getPackagesRecursively(final NavigableMap<String, Set<ClassMetadata>> index, final String packagePrefix) {
+		final Set<ClassMetadata> set = new LinkedHashSet<>();
+		
+		for(Map.Entry<String, Set<ClassMetadata>> bucket : index.tailMap(packagePrefix, true).entrySet()) {
+			if(!bucket.getKey().startsWith(packagePrefix))
+				break;
+			
+			set.addAll(bucket.getValue());
+		}
+		
+		return unmodifiableSet(set);
+	}
+	
+	/**
+	 * Load the provided class into its class loader, at most once per {@link Reflection} instance: both the loaded
+	 * types and the load failures are remembered.
+	 *
+	 * @param classMetadata The class to load.
+	 *
+	 * @return The result of {@link ClassMetadata#load()}.
+	 */
+	private Optional<Class<?>> load(final ClassMetadata classMetadata) {
+		return loadedTypes.computeIfAbsent(classMetadata, ClassMetadata::load);
+	}
+	
+	/**
+	 * @param classes A set of classes.
+	 *
+	 * @return An unmodifiable set of the types that could be loaded from {@code classes}.
+	 */
+	private Set<Class<?>> load(final Set<ClassMetadata> classes) {
+		final ParallelLoader loader = parallelLoader;
+		final List<Optional<Class<?>>> loaded = (loader != null)
+			? loader.map(new ArrayList<>(classes), this::load)
+			: classes.stream().map(this::load).collect(Collectors.toList());
+		
+		final Set<Class<?>> types = loaded.stream()
+			.filter(Optional::isPresent)
+			.map(Optional::get)
+			.collect(Collectors.toCollection(LinkedHashSet::new));
+		
+		return unmodifiableSet(types);
+	}
+	
+	/**
+	 * @return The {@link ClassFileIndex} of the reflected classes, built on the first call.
+	 */
+	private ClassFileIndex getClassFileIndex() {
+		ClassFileIndex built = classFileIndex;
+		
+		if(built == null) {
+			synchronized(this) {
+				built = classFileIndex;
+				
+				if(built == null) {
+					built = ClassFileIndex.of(classes);
+					classFileIndex = built;
+				}
+			}
+		}
+		
+		return built;
+	}
+	
+	/**
+	 * @return An unmodifiable set of the reflective members of {@code members} having the provided {@code kind}, whose
+	 * declaring class could be loaded.
+	 */
+	private static <T> Set<T> load(final Set<MemberMetadata> members, final MemberMetadata.Kind kind, final Class<T> memberType) {
+		final Set<T> loaded = members.stream()
+			.filter(member -> member.getKind() == kind)
+			.map(MemberMetadata::load)
+			.filter(Optional::isPresent)
+			.map(member -> memberType.cast(member.get()))
+			.collect(Collectors.toCollection(LinkedHashSet::new));
+		
+		return unmodifiableSet(loaded);
+	}
+	
+	private static Set<Class<?>> getAnnotatedTypes(final Set<Class<?>> types, final Class<? extends Annotation> annotation) {
+		final Set<Class<?>> annotatedTypes = types.stream()
+			.filter(c -> c.isAnnotationPresent(annotation))
+			.collect(Collectors.toCollection(LinkedHashSet::new));
+		
+		return unmodifiableSet(annotatedTypes);
+	}
+	
+	/**
+	 * @return An unmodifiable view of the {@link #resources} attributes.
 	 */
 	public Set<ResourceMetadata> getResources() {
-		return new HashSet<>(resources);
+		return resources;
 	}
 	
 	/**
-	 * @return A set containing all the {@link ResourceMetadata} that are not classes.
+	 * @return An unmodifiable set containing all the {@link ResourceMetadata} that are not classes.
 	 */
 	public Set<ResourceMetadata> getSimpleResources() {
-		return getResources().stream()
-			.filter(res -> !(res instanceof ClassMetadata))
-			.collect(Collectors.toSet());
+		return simpleResources;
 	}
 	
 	/**
-	 * @return A set containing all the {@link ClassMetadata} from the reflected resources.
+	 * @return An unmodifiable set containing all the {@link ClassMetadata} from the reflected resources.
 	 */
 	public Set<ClassMetadata> getClasses() {
-		return getResources().stream()
-			.filter(ClassMetadata.class::isInstance)
-			.map(ClassMetadata.class::cast)
-			.collect(Collectors.toSet());
+		return classes;
 	}
 	
 	/**
 	 * @param packageName The name of the target package.
 	 *
-	 * @return A set containing all the {@link ClassMetadata} in the provided package.
+	 * @return An unmodifiable set containing all the {@link ClassMetadata} in the provided package.
 	 */
 	public Set<ClassMetadata> getClasses(final String packageName) {
-		return getClasses().stream()
-			.filter(c -> c.getPackage().equals(packageName))
-			.collect(Collectors.toSet());
+		return getPackage(classesByPackage, packageName);
 	}
 	
 	/**
 	 * @param packagePrefix The prefix of all the targeted packages.
 	 *
-	 * @return A set containing all the {@link ClassMetadata} whose package name starts with {@code packagePrefix}.
+	 * @return An unmodifiable set containing all the {@link ClassMetadata} whose package name starts with {@code packagePrefix}.
 	 */
 	public Set<ClassMetadata> getClassesRecursively(final String packagePrefix) {
-		return getClasses().stream()
-			.filter(c -> c.getPackage().startsWith(packagePrefix))
-			.collect(Collectors.toSet());
+		return getPackagesRecursively(classesByPackage, packagePrefix);
 	}
 	
 	/**
-	 * @return A set containing all the top level {@link ClassMetadata} from the reflected resources (which mean no
-	 * inner class is included).
+	 * @return An unmodifiable set containing all the top level {@link ClassMetadata} from the reflected resources (which
+	 * mean no inner class is included).
 	 */
 	public Set<ClassMetadata> getTopLevelClasses() {
-		return getClasses().stream()
-			.filter(c -> c.getName().indexOf('$') == -1)
-			.collect(Collectors.toSet());
+		return topLevelClasses;
 	}
 	
 	/**
 	 * @param packageName The name of the target package.
 	 *
-	 * @return A set containing all the top level {@link ClassMetadata} in the provided package.
+	 * @return An unmodifiable set containing all the top level {@link ClassMetadata} in the provided package.
 	 */
 	public Set<ClassMetadata> getTopLevelClasses(final String packageName) {
-		return getTopLevelClasses().stream()
-			.filter(c -> c.getPackage().equals(packageName))
-			.collect(Collectors.toSet());
+		return getPackage(topLevelClassesByPackage, packageName);
 	}
 	
 	/**
 	 * @param packagePrefix The prefix of all the targeted packages.
 	 *
-	 * @return A set containing all the top level {@link ClassMetadata} whose package name starts with {@code packagePrefix}.
+	 * @return An unmodifiable set containing all the top level {@link ClassMetadata} whose package name starts with {@code packagePrefix}.
 	 */
 	public Set<ClassMetadata> getTopLevelClassesRecursively(final String packagePrefix) {
-		return getTopLevelClasses().stream()
-			.filter(c -> c.getPackage().startsWith(packagePrefix))
-			.collect(Collectors.toSet());
+		return getPackagesRecursively(topLevelClassesByPackage, packagePrefix);
 	}
 	
 	/**
-	 * @return A {@link Set} of loaded types.
+	 * Each class is loaded at most once; the resulting set is built on the first call and reused afterwards.
+	 *
+	 * @return An unmodifiable {@link Set} of loaded types.
 	 */
 	public Set<Class<?>> getTypes() {
-		return getClasses().stream()
-			.map(ClassMetadata::load)
-			.filter(Optional::isPresent)
-			.map(Optional::get)
-			.collect(Collectors.toSet());
+		Set<Class<?>> loaded = types;
+		
+		if(loaded == null) {
+			loaded = load(classes);
+			types = loaded;
+		}
+		
+		return loaded;
 	}
 	
 	/**
+	 * The resulting set of each reflected package is built on the first call and reused afterwards. The classes are
+	 * loaded outside of the cache, so that concurrent calls for other packages are not blocked.
+	 *
 	 * @param packageName The name of the target package.
 	 *
-	 * @return A {@link Set} of loaded types in the provided package.
+	 * @return An unmodifiable {@link Set} of loaded types in the provided package.
 	 */
 	public Set<Class<?>> getTypes(final String packageName) {
-		return getClasses(packageName).stream()
-			.map(ClassMetadata::load)
-			.filter(Optional::isPresent)
-			.map(Optional::get)
-			.collect(Collectors.toSet());
+		final Set<Class<?>> cachedTypes = typesByPackage.get(packageName);
+		
+		if(cachedTypes != null)
+			return cachedTypes;
+		if(!classesByPackage.containsKey(packageName))
+			return emptySet();
+		
+		final Set<Class<?>> loaded = load(getClasses(packageName));
+		final Set<Class<?>> previousTypes = typesByPackage.putIfAbsent(packageName, loaded);
+		
+		return (previousTypes != null) ? previousTypes : loaded;
 	}
 	
 	/**
+	 * The matching packages are gathered from the package index on each call, their classes being loaded at most once.
+	 *
 	 * @param packagePrefix The prefix of all the targeted packages.
 	 *
-	 * @return A {@link Set} of loaded types whose package name starts with {@code packagePrefix}.
+	 * @return An unmodifiable {@link Set} of loaded types whose package name starts with {@code packagePrefix}.
 	 */
 	public Set<Class<?>> getTypesRecursively(final String packagePrefix) {
-		return getClassesRecursively(packagePrefix).stream()
-			.map(ClassMetadata::load)
-			.filter(Optional::isPresent)
-			.map(Optional::get)
-			.collect(Collectors.toSet());
+		return load(getClassesRecursively(packagePrefix));
 	}
 	
 	/**
 	 * @param annotation The Annotation class that must be present in the returned types.
 	 *
-	 * @return A {@link Set} of loaded types all annotated with the provided {@code annotation}.
+	 * @return An unmodifiable {@link Set} of loaded types all annotated with the provided {@code annotation}.
 	 */
 	public Set<Class<?>> getAnnotatedTypes(final Class<? extends Annotation> annotation) {
-		return getTypes().stream()
-			.filter(c -> c.isAnnotationPresent(annotation))
-			.collect(Collectors.toSet());
+		return getAnnotatedTypes(getTypes(), annotation);
 	}
 	
 	/**
 	 * @param annotation  The Annotation class that must be present in the returned types.
 	 * @param packageName The name of the target package.
 	 *
-	 * @return A {@link Set} of loaded types in the provided package and annotated with {@code annotation}.
+	 * @return An unmodifiable {@link Set} of loaded types in the provided package and annotated with {@code annotation}.
 	 */
 	public Set<Class<?>> getAnnotatedTypes(final Class<? extends Annotation> annotation, final String packageName) {
-		return getTypes(packageName).stream()
-			.filter(c -> c.isAnnotationPresent(annotation))
-			.collect(Collectors.toSet());
+		return getAnnotatedTypes(getTypes(packageName), annotation);
 	}
 	
 	/**
 	 * @param annotation    The Annotation class that must be present in the returned types.
 	 * @param packagePrefix The prefix of all the targeted packages.
 	 *
-	 * @return A {@link Set} of loaded types whose package name starts with {@code packagePrefix} and are annotated with {@code annotation}.
+	 * @return An unmodifiable {@link Set} of loaded types whose package name starts with {@code packagePrefix} and are annotated with {@code annotation}.
 	 */
 	public Set<Class<?>> getAnnotatedTypesRecursively(final Class<? extends Annotation> annotation, final String packagePrefix) {
-		return getTypesRecursively(packagePrefix).stream()
-			.filter(c -> c.isAnnotationPresent(annotation))
-			.collect(Collectors.toSet());
+		return getAnnotatedTypes(getTypesRecursively(packagePrefix), annotation);
+	}
+	
+	/**
+	 * Find the subtypes of a class or an interface without loading any class: the class files of the reflected classes
+	 * are read on the first call, and their index is reused afterwards.
+	 *
+	 * @param typeName The binary name of a class or an interface, such as {@code com.example.Outer$Inner}.
+	 *
+	 * @return An unmodifiable set containing all the {@link ClassMetadata} extending or implementing the provided type,
+	 * directly or not. The type itself is not included.
+	 */
+	public Set<ClassMetadata> getSubClasses(final String typeName) {
+		if(typeName == null)
+			throw new IllegalArgumentException("Type name cannot be null");
+		
+		final ClassFileIndex index = getClassFileIndex();
+		
+		return subTypesByName.computeIfAbsent(typeName, name -> unmodifiableSet(index.getSubTypes(name)));
+	}
+	
+	/**
+	 * Only the subtypes found by {@link #getSubClasses(String)} are loaded.
+	 *
+	 * @param type The parent class or interface.
+	 * @param <T>  The parent type.
+	 *
+	 * @return An unmodifiable {@link Set} of loaded types extending or implementing the provided {@code type}.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Set<Class<? extends T>> getSubTypesOf(final Class<T> type) {
+		if(type == null)
+			throw new IllegalArgumentException("Type cannot be null");
+		
+		final Set<Class<? extends T>> subTypes = load(getSubClasses(type.getName())).stream()
+			.filter(type::isAssignableFrom)
+			.map(subType -> (Class<? extends T>) subType)
+			.collect(Collectors.toCollection(LinkedHashSet::new));
+		
+		return unmodifiableSet(subTypes);
+	}
+	
+	/**
+	 * Find the annotated fields, methods and constructors without loading any class: the class files of the reflected
+	 * classes are read on the first call, and their index is reused afterwards.
+	 *
+	 * @param annotationName The binary name of the annotation type, such as {@code com.example.Route}.
+	 *
+	 * @return An unmodifiable set containing the {@link MemberMetadata} of all the members directly annotated with the
+	 * provided annotation.
+	 */
+	public Set<MemberMetadata> getAnnotatedMembers(final String annotationName) {
+		if(annotationName == null)
+			throw new IllegalArgumentException("Annotation name cannot be null");
+		
+		final ClassFileIndex index = getClassFileIndex();
+		
+		return membersByAnnotation.computeIfAbsent(annotationName, name -> unmodifiableSet(new LinkedHashSet<>(index.getAnnotatedMembers(name))));
+	}
+	
+	/**
+	 * @param annotation The Annotation class that must be present on the returned members.
+	 *
+	 * @return An unmodifiable set containing the {@link MemberMetadata} of all the members directly annotated with the
+	 * provided annotation.
+	 *
+	 * @see #getAnnotatedMembers(String)
+	 */
+	public Set<MemberMetadata> getAnnotatedMembers(final Class<? extends Annotation> annotation) {
+		if(annotation == null)
+			throw new IllegalArgumentException("Annotation cannot be null");
+		
+		return getAnnotatedMembers(annotation.getName());
+	}
+	
+	/**
+	 * Only the classes declaring an annotated method are loaded.
+	 *
+	 * @param annotation The Annotation class that must be present on the returned methods.
+	 *
+	 * @return An unmodifiable {@link Set} of the methods annotated with the provided {@code annotation}.
+	 */
+	public Set<Method> getAnnotatedMethods(final Class<? extends Annotation> annotation) {
+		return load(getAnnotatedMembers(annotation), MemberMetadata.Kind.METHOD, Method.class);
+	}
+	
+	/**
+	 * Only the classes declaring an annotated field are loaded.
+	 *
+	 * @param annotation The Annotation class that must be present on the returned fields.
+	 *
+	 * @return An unmodifiable {@link Set} of the fields annotated with the provided {@code annotation}.
+	 */
+	public Set<Field> getAnnotatedFields(final Class<? extends Annotation> annotation) {
+		return load(getAnnotatedMembers(annotation), MemberMetadata.Kind.FIELD, Field.class);
 	}
 }
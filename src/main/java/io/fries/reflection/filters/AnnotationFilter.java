@@ -66,5 +66,13 @@ public class AnnotationFilter implements Filter {
 			: annotations.stream().anyMatch(resourceClass::isAnnotationPresent);
 	}
 	
+	/**
+	 * @see Filter#getCost()
+	 */
+	@Override
+	public Cost getCost() {
+		return Cost.CLASS;
+	}
+	
 	private enum Mode {ANY, ALL}
 }
@@ -0,0 +1,103 @@
+package io.fries.reflection.filters;
+
+import io.fries.reflection.metadata.ClassFile;
+import io.fries.reflection.metadata.ResourceContent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Accept only the classes annotated with a certain set of annotations, without loading them.
+ * <p>
+ * Unlike {@link AnnotationFilter}, the annotations are read from the {@code RuntimeVisibleAnnotations} attribute of the
+ * {@code .class} file itself: the class is never defined in its {@link ClassLoader}, and missing optional dependencies
+ * cannot make the filter fail. Only the annotations directly present on the class are considered, which means
+ * {@link java.lang.annotation.Inherited} annotations of its super classes are ignored.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public class ClassFileAnnotationFilter implements Filter {
+	
+	private static final String CLASS_FILE_EXTENSION = ".class";
+	
+	private final Mode mode;
+	private final Set<String> annotations;
+	
+	/**
+	 * @param annotations The array of annotation classes required for each resource.
+	 */
+	@SafeVarargs
+	private ClassFileAnnotationFilter(final Mode mode, final Class<? extends Annotation>... annotations) {
+		if(annotations == null || annotations.length == 0)
+			throw new IllegalArgumentException("Filtered annotations list cannot be empty.");
+		
+		this.mode = mode;
+		this.annotations = new HashSet<>();
+		
+		for(Class<? extends Annotation> annotation : annotations)
+			this.annotations.add(annotation.getName());
+	}
+	
+	@SafeVarargs
+	public static ClassFileAnnotationFilter any(final Class<? extends Annotation>... annotations) {
+		return new ClassFileAnnotationFilter(Mode.ANY, annotations);
+	}
+	
+	@SafeVarargs
+	public static ClassFileAnnotationFilter all(final Class<? extends Annotation>... annotations) {
+		return new ClassFileAnnotationFilter(Mode.ALL, annotations);
+	}
+	
+	/**
+	 * Read the class file through {@link ClassLoader#getResourceAsStream(String)}.
+	 *
+	 * @see Filter#accept(ClassLoader, String)
+	 */
+	@Override
+	public boolean accept(final ClassLoader classLoader, final String resourceName) {
+		return accept(classLoader, resourceName, () -> {
+			final InputStream content = classLoader.getResourceAsStream(resourceName);
+			
+			if(content == null)
+				throw new IOException("Resource not found: " + resourceName);
+			
+			return content;
+		});
+	}
+	
+	/**
+	 * Read the class file straight from the scanned class path element.
+	 *
+	 * @see Filter#accept(ClassLoader, String, ResourceContent)
+	 */
+	@Override
+	public boolean accept(final ClassLoader classLoader, final String resourceName, final ResourceContent content) {
+		if(!resourceName.endsWith(CLASS_FILE_EXTENSION))
+			return false;
+		
+		try(final InputStream in = content.open()) {
+			final Set<String> classAnnotations = ClassFile.read(in).getAnnotations();
+			
+			return mode == Mode.ALL
+				? classAnnotations.containsAll(annotations)
+				: annotations.stream().anyMatch(classAnnotations::contains);
+		}
+		catch(final IOException e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * @see Filter#getCost()
+	 */
+	@Override
+	public Cost getCost() {
+		return Cost.CONTENT;
+	}
+	
+	private enum Mode {ANY, ALL}
+}
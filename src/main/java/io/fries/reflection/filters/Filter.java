@@ -1,5 +1,7 @@
 package io.fries.reflection.filters;
 
+import io.fries.reflection.metadata.ResourceContent;
+
 /**
  * Functional interface used to filter the scanned resources.
  *
@@ -16,4 +18,104 @@ public interface Filter {
 	 * @return Return {@code true} is the resource matches the filter's criteria; otherwise return {@code false}.
 	 */
 	boolean accept(final ClassLoader classLoader, final String resourceName);
+	
+	/**
+	 * Called instead of {@link #accept(ClassLoader, String)} by the scanners able to provide the content of the resource
+	 * while its class path element is being read, so that it can be inspected without going through the {@link ClassLoader}.
+	 *
+	 * @param classLoader  The {@link ClassLoader} object the resource is attached to.
+	 * @param resourceName The complete name of the resource.
+	 * @param content      The raw content of the resource.
+	 *
+	 * @return Return {@code true} is the resource matches the filter's criteria; otherwise return {@code false}.
+	 */
+	default boolean accept(final ClassLoader classLoader, final String resourceName, final ResourceContent content) {
+		return accept(classLoader, resourceName);
+	}
+	
+	/**
+	 * Called by the scanners before listing a package, so that the packages in which no resource can be accepted are
+	 * skipped along with all their subpackages. This method must only return {@code false} if the
+	 * {@link #accept(ClassLoader, String)} method would reject every resource of the package and of its subpackages.
+	 *
+	 * @param packageName The name of the package, using {@code '.'} as a separator, or an empty {@link String} for the
+	 *                    root package.
+	 *
+	 * @return Return {@code false} if no resource of the package or of its subpackages can match the filter's criteria;
+	 * otherwise return {@code true}.
+	 */
+	default boolean acceptsPackage(final String packageName) {
+		return true;
+	}
+	
+	/**
+	 * Called by the scanners knowing the exact packages of a class path element, so that an element holding no package
+	 * whose own resources can be accepted is skipped as a whole. Unlike {@link #acceptsPackage(String)}, the subpackages
+	 * are not considered: this method must only return {@code false} if the {@link #accept(ClassLoader, String)} method
+	 * would reject every resource of the package itself.
+	 *
+	 * @param packageName The name of the package, using {@code '.'} as a separator, or an empty {@link String} for the
+	 *                    root package.
+	 *
+	 * @return Return {@code false} if no resource of the package can match the filter's criteria; otherwise return
+	 * {@code true}.
+	 */
+	default boolean acceptsPackageResources(final String packageName) {
+		return acceptsPackage(packageName);
+	}
+	
+	/**
+	 * The scanners run the cheapest filters first, so that the expensive ones only see the resources accepted by the
+	 * others. The filters that do not override this method are assumed to be as expensive as reading a resource.
+	 *
+	 * @return The {@link Cost} of a call to {@link #accept(ClassLoader, String, ResourceContent)}.
+	 */
+	default Cost getCost() {
+		return Cost.CONTENT;
+	}
+	
+	/**
+	 * @param other Another filter.
+	 *
+	 * @return A new {@link Filter} accepting the resources accepted by both this filter and the {@code other} one.
+	 */
+	default Filter and(final Filter other) {
+		return new AndFilter(this, other);
+	}
+	
+	/**
+	 * @param other Another filter.
+	 *
+	 * @return A new {@link Filter} accepting the resources accepted by this filter or by the {@code other} one.
+	 */
+	default Filter or(final Filter other) {
+		return new OrFilter(this, other);
+	}
+	
+	/**
+	 * @param filter A filter.
+	 *
+	 * @return A new {@link Filter} accepting the resources rejected by the provided {@code filter}.
+	 */
+	static Filter not(final Filter filter) {
+		return new NotFilter(filter);
+	}
+	
+	/**
+	 * Relative cost of a filter, from the cheapest to the most expensive.
+	 */
+	enum Cost {
+		/**
+		 * Only the name of the resource is read.
+		 */
+		NAME,
+		/**
+		 * The content of the resource may be read.
+		 */
+		CONTENT,
+		/**
+		 * The resource may be loaded as a class.
+		 */
+		CLASS
+	}
 }
@@ -17,4 +17,12 @@ public class ManifestFilter implements Filter {
 	public boolean accept(final ClassLoader classLoader, final String resourceName) {
 		return !resourceName.equals(JarFile.MANIFEST_NAME);
 	}
+	
+	/**
+	 * @see Filter#getCost()
+	 */
+	@Override
+	public Cost getCost() {
+		return Cost.NAME;
+	}
 }
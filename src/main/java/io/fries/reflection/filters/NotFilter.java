@@ -0,0 +1,52 @@
+package io.fries.reflection.filters;
+
+import io.fries.reflection.metadata.ResourceContent;
+
+/**
+ * Accept the resources rejected by another filter.
+ * <p>
+ * A package rejected by the negated filter may still contain accepted resources, so no package is ever pruned.
+ *
+ * @version 1.0
+ * @since 1.0
+ *
+ * @see Filter#not(Filter)
+ */
+final class NotFilter implements Filter {
+	
+	private final Filter filter;
+	
+	/**
+	 * @param filter The negated filter.
+	 */
+	NotFilter(final Filter filter) {
+		if(filter == null)
+			throw new IllegalArgumentException("Filter cannot be null");
+		
+		this.filter = filter;
+	}
+	
+	/**
+	 * @see Filter#accept(ClassLoader, String)
+	 */
+	@Override
+	public boolean accept(final ClassLoader classLoader, final String resourceName) {
+		return !filter.accept(classLoader, resourceName);
+	}
+	
+	/**
+	 * @see Filter#accept(ClassLoader, String, ResourceContent)
+	 */
+	@Override
+	public boolean accept(final ClassLoader classLoader, final String resourceName, final ResourceContent content) {
+		return !filter.accept(classLoader, resourceName, content);
+	}
+	
+	/**
+	 * @see Filter#getCost()
+	 */
+	@Override
+	public Cost getCost() {
+		return filter.getCost();
+	}
+}
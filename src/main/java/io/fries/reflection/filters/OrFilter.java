@@ -0,0 +1,71 @@
+package io.fries.reflection.filters;
+
+import io.fries.reflection.metadata.ResourceContent;
+
+/**
+ * Accept the resources accepted by at least one of two filters, evaluating the cheapest one first.
+ *
+ * @version 1.0
+ * @since 1.0
+ *
+ * @see Filter#or(Filter)
+ */
+final class OrFilter implements Filter {
+	
+	private final Filter first;
+	private final Filter second;
+	
+	/**
+	 * @param left  The left operand.
+	 * @param right The right operand.
+	 */
+	OrFilter(final Filter left, final Filter right) {
+		if(left == null || right == null)
+			throw new IllegalArgumentException("Filter cannot be null");
+		
+		final boolean ordered = left.getCost().compareTo(right.getCost()) <= 0;
+		
+		this.first = ordered ? left : right;
+		this.second = ordered ? right : left;
+	}
+	
+	/**
+	 * @see Filter#accept(ClassLoader, String)
+	 */
+	@Override
+	public boolean accept(final ClassLoader classLoader, final String resourceName) {
+		return first.accept(classLoader, resourceName) || second.accept(classLoader, resourceName);
+	}
+	
+	/**
+	 * @see Filter#accept(ClassLoader, String, ResourceContent)
+	 */
+	@Override
+	public boolean accept(final ClassLoader classLoader, final String resourceName, final ResourceContent content) {
+		return first.accept(classLoader, resourceName, content) || second.accept(classLoader, resourceName, content);
+	}
+	
+	/**
+	 * @see Filter#acceptsPackage(String)
+	 */
+	@Override
+	public boolean acceptsPackage(final String packageName) {
+		return first.acceptsPackage(packageName) || second.acceptsPackage(packageName);
+	}
+	
+	/**
+	 * @see Filter#acceptsPackageResources(String)
+	 */
+	@Override
+	public boolean acceptsPackageResources(final String packageName) {
+		return first.acceptsPackageResources(packageName) || second.acceptsPackageResources(packageName);
+	}
+	
+	/**
+	 * @see Filter#getCost()
+	 */
+	@Override
+	public Cost getCost() {
+		return second.getCost();
+	}
+}
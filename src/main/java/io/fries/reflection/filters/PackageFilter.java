@@ -52,5 +52,41 @@ public class PackageFilter implements Filter {
 			: resourcePackage.startsWith(packageName);
 	}
 	
+	/**
+	 * @see Filter#acceptsPackage(String)
+	 */
+	@Override
+	public boolean acceptsPackage(final String packageName) {
+		if(packageName.isEmpty())
+			return true;
+		if(this.packageName.isEmpty())
+			return false;
+		if(this.packageName.equals(packageName) || this.packageName.startsWith(packageName + '.'))
+			return true;
+		
+		return mode == Mode.WITH_SUBPACKAGES && packageName.startsWith(this.packageName);
+	}
+	
+	/**
+	 * @see Filter#acceptsPackageResources(String)
+	 */
+	@Override
+	public boolean acceptsPackageResources(final String packageName) {
+		if(this.packageName.isEmpty() || packageName.isEmpty())
+			return this.packageName.isEmpty() && packageName.isEmpty();
+		
+		return mode == Mode.STRICT
+			? packageName.equals(this.packageName)
+			: packageName.startsWith(this.packageName);
+	}
+	
+	/**
+	 * @see Filter#getCost()
+	 */
+	@Override
+	public Cost getCost() {
+		return Cost.NAME;
+	}
+	
 	private enum Mode {STRICT, WITH_SUBPACKAGES}
 }
@@ -0,0 +1,394 @@
+package io.fries.reflection.metadata;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * Header of a compiled class, read straight from the bytes of its {@code .class} file.
+ * <p>
+ * Reading a {@link ClassFile} never defines the class in any {@link ClassLoader}: only the constant pool, the type
+ * hierarchy and the {@code RuntimeVisibleAnnotations} attributes of the class and of its fields and methods are decoded.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ClassFile {
+	
+	private static final int MAGIC = 0xCAFEBABE;
+	private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+	
+	private final String name;
+	private final String superName;
+	private final List<String> interfaces;
+	private final Set<String> annotations;
+	private final List<Member> annotatedFields;
+	private final List<Member> annotatedMethods;
+	
+	/**
+	 * @param name             The binary name of the class.
+	 * @param superName        The binary name of the super class, or {@code null} if there is none.
+	 * @param interfaces       The binary names of the directly implemented interfaces.
+	 * @param annotations      The binary names of the runtime visible annotations directly present on the class.
+	 * @param annotatedFields  The fields having at least one runtime visible annotation.
+	 * @param annotatedMethods The methods and constructors having at least one runtime visible annotation.
+	 */
+	private ClassFile(final String name, final String superName, final List<String> interfaces, final Set<String> annotations, final List<Member> annotatedFields, final List<Member> annotatedMethods) {
+		this.name = name;
+		this.superName = superName;
+		this.interfaces = unmodifiableList(interfaces);
+		this.annotations = unmodifiableSet(annotations);
+		this.annotatedFields = unmodifiableList(annotatedFields);
+		this.annotatedMethods = unmodifiableList(annotatedMethods);
+	}
+	
+	/**
+	 * Decode the header of a class from its {@code .class} file content.
+	 * The provided stream is not closed by this method.
+	 *
+	 * @param content The content of the {@code .class} file.
+	 *
+	 * @return A new {@link ClassFile} instance.
+	 *
+	 * @throws IOException If the stream cannot be read or does not contain a valid class file.
+	 */
+	public static ClassFile read(final InputStream content) throws IOException {
+		final DataInputStream in = new DataInputStream(new BufferedInputStream(content));
+		
+		if(in.readInt() != MAGIC)
+			throw new IOException("Not a class file");
+		
+		skip(in, 4); // minor_version, major_version
+		
+		final ConstantPool constantPool = ConstantPool.read(in);
+		
+		skip(in, 2); // access_flags
+		
+		final String name = constantPool.getClassName(in.readUnsignedShort());
+		final String superName = constantPool.getClassName(in.readUnsignedShort());
+		
+		final int interfacesCount = in.readUnsignedShort();
+		final List<String> interfaces = new ArrayList<>(interfacesCount);
+		
+		for(int i = 0; i < interfacesCount; i++)
+			interfaces.add(constantPool.getClassName(in.readUnsignedShort()));
+		
+		final List<Member> annotatedFields = readAnnotatedMembers(in, constantPool);
+		final List<Member> annotatedMethods = readAnnotatedMembers(in, constantPool);
+		
+		final Set<String> annotations = new LinkedHashSet<>();
+		final int attributesCount = in.readUnsignedShort();
+		
+		for(int i = 0; i < attributesCount; i++) {
+			final String attributeName = constantPool.getUtf8(in.readUnsignedShort());
+			final int length = in.readInt();
+			
+			if(RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName))
+				readAnnotations(in, constantPool, annotations);
+			else
+				skip(in, length);
+		}
+		
+		return new ClassFile(name, superName, interfaces, annotations, annotatedFields, annotatedMethods);
+	}
+	
+	/**
+	 * Read a {@code fields} or {@code methods} table. The name and descriptor of a member are only resolved when it has
+	 * a {@code RuntimeVisibleAnnotations} attribute.
+	 *
+	 * @return The members having at least one runtime visible annotation, in declaration order.
+	 */
+	private static List<Member> readAnnotatedMembers(final DataInputStream in, final ConstantPool constantPool) throws IOException {
+		final int count = in.readUnsignedShort();
+		final List<Member> members = new ArrayList<>();
+		
+		for(int i = 0; i < count; i++) {
+			skip(in, 2); // access_flags
+			
+			final int nameIndex = in.readUnsignedShort();
+			final int descriptorIndex = in.readUnsignedShort();
+			final Set<String> annotations = new LinkedHashSet<>();
+			final int attributesCount = in.readUnsignedShort();
+			
+			for(int j = 0; j < attributesCount; j++) {
+				final String attributeName = constantPool.getUtf8(in.readUnsignedShort());
+				final int length = in.readInt();
+				
+				if(RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName))
+					readAnnotations(in, constantPool, annotations);
+				else
+					skip(in, length);
+			}
+			
+			if(!annotations.isEmpty())
+				members.add(new Member(constantPool.getUtf8(nameIndex), constantPool.getUtf8(descriptorIndex), annotations));
+		}
+		
+		return members;
+	}
+	
+	/**
+	 * Read a {@code RuntimeVisibleAnnotations} attribute body and collect the type of each of its annotations.
+	 */
+	private static void readAnnotations(final DataInputStream in, final ConstantPool constantPool, final Set<String> annotations) throws IOException {
+		final int count = in.readUnsignedShort();
+		
+		for(int i = 0; i < count; i++)
+			annotations.add(readAnnotation(in, constantPool));
+	}
+	
+	/**
+	 * @return The binary name of the annotation type, after having skipped its element-value pairs.
+	 */
+	private static String readAnnotation(final DataInputStream in, final ConstantPool constantPool) throws IOException {
+		final String descriptor = constantPool.getUtf8(in.readUnsignedShort());
+		final int pairs = in.readUnsignedShort();
+		
+		for(int i = 0; i < pairs; i++) {
+			skip(in, 2); // element_name_index
+			skipElementValue(in, constantPool);
+		}
+		
+		return toBinaryName(descriptor);
+	}
+	
+	private static void skipElementValue(final DataInputStream in, final ConstantPool constantPool) throws IOException {
+		final int tag = in.readUnsignedByte();
+		
+		switch(tag) {
+			case 'e':
+				skip(in, 4); // type_name_index, const_name_index
+				break;
+			case '@':
+				readAnnotation(in, constantPool);
+				break;
+			case '[':
+				final int count = in.readUnsignedShort();
+				for(int i = 0; i < count; i++)
+					skipElementValue(in, constantPool);
+				break;
+			default:
+				skip(in, 2); // const_value_index or class_info_index
+		}
+	}
+	
+	/**
+	 * @param descriptor A field descriptor such as {@code Lcom/example/Annotation;}.
+	 *
+	 * @return The matching binary name, such as {@code com.example.Annotation}.
+	 */
+	private static String toBinaryName(final String descriptor) {
+		return descriptor.startsWith("L") && descriptor.endsWith(";")
+			? descriptor.substring(1, descriptor.length() - 1).replace('/', '.')
+			: descriptor.replace('/', '.');
+	}
+	
+	private static void skip(final DataInputStream in, final int length) throws IOException {
+		int remaining = length;
+		
+		while(remaining > 0) {
+			final int skipped = in.skipBytes(remaining);
+			
+			if(skipped <= 0) {
+				in.readByte(); // Throws an EOFException at the end of the stream
+				remaining--;
+			}
+			else
+				remaining -= skipped;
+		}
+	}
+	
+	/**
+	 * @return The binary name of the class, such as {@code com.example.Outer$Inner}.
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * @return The binary name of the super class, or {@code null} for {@code java.lang.Object} and module descriptors.
+	 */
+	public String getSuperName() {
+		return superName;
+	}
+	
+	/**
+	 * @return The binary names of the interfaces directly implemented by the class, in declaration order.
+	 */
+	public List<String> getInterfaces() {
+		return interfaces;
+	}
+	
+	/**
+	 * @return The binary names of the runtime visible annotations directly present on the class.
+	 * Inherited annotations are not included.
+	 */
+	public Set<String> getAnnotations() {
+		return annotations;
+	}
+	
+	/**
+	 * @return The fields of the class having at least one runtime visible annotation, in declaration order.
+	 */
+	public List<Member> getAnnotatedFields() {
+		return annotatedFields;
+	}
+	
+	/**
+	 * @return The methods and constructors of the class having at least one runtime visible annotation, in declaration
+	 * order. Constructors are named {@code <init>}.
+	 */
+	public List<Member> getAnnotatedMethods() {
+		return annotatedMethods;
+	}
+	
+	@Override
+	public String toString() {
+		return name;
+	}
+	
+	/**
+	 * A field or a method declared by a class file.
+	 */
+	public static final class Member {
+		
+		private final String name;
+		private final String descriptor;
+		private final Set<String> annotations;
+		
+		private Member(final String name, final String descriptor, final Set<String> annotations) {
+			this.name = name;
+			this.descriptor = descriptor;
+			this.annotations = unmodifiableSet(annotations);
+		}
+		
+		/**
+		 * @return The name of the member, such as {@code handle} or {@code <init>}.
+		 */
+		public String getName() {
+			return name;
+		}
+		
+		/**
+		 * @return The JVM descriptor of the member, such as {@code (Ljava/lang/String;)V} or {@code I}.
+		 */
+		public String getDescriptor() {
+			return descriptor;
+		}
+		
+		/**
+		 * @return The binary names of the runtime visible annotations directly present on the member.
+		 */
+		public Set<String> getAnnotations() {
+			return annotations;
+		}
+		
+		@Override
+		public String toString() {
+			return name + descriptor;
+		}
+	}
+	
+	/**
+	 * The subset of the constant pool needed to resolve class and UTF-8 entries.
+	 */
+	private static final class ConstantPool {
+		
+		private static final int UTF8 = 1;
+		private static final int INTEGER = 3;
+		private static final int FLOAT = 4;
+		private static final int LONG = 5;
+		private static final int DOUBLE = 6;
+		private static final int CLASS = 7;
+		private static final int STRING = 8;
+		private static final int FIELD_REF = 9;
+		private static final int METHOD_REF = 10;
+		private static final int INTERFACE_METHOD_REF = 11;
+		private static final int NAME_AND_TYPE = 12;
+		private static final int METHOD_HANDLE = 15;
+		private static final int METHOD_TYPE = 16;
+		private static final int DYNAMIC = 17;
+		private static final int INVOKE_DYNAMIC = 18;
+		private static final int MODULE = 19;
+		private static final int PACKAGE = 20;
+		
+		private final String[] utf8;
+		private final int[] classes;
+		
+		private ConstantPool(final String[] utf8, final int[] classes) {
+			this.utf8 = utf8;
+			this.classes = classes;
+		}
+		
+		static ConstantPool read(final DataInputStream in) throws IOException {
+			final int count = in.readUnsignedShort();
+			final String[] utf8 = new String[count];
+			final int[] classes = new int[count];
+			
+			for(int i = 1; i < count; i++) {
+				final int tag = in.readUnsignedByte();
+				
+				switch(tag) {
+					case UTF8:
+						utf8[i] = in.readUTF();
+						break;
+					case CLASS:
+						classes[i] = in.readUnsignedShort();
+						break;
+					case STRING:
+					case METHOD_TYPE:
+					case MODULE:
+					case PACKAGE:
+						skip(in, 2);
+						break;
+					case METHOD_HANDLE:
+						skip(in, 3);
+						break;
+					case INTEGER:
+					case FLOAT:
+					case FIELD_REF:
+					case METHOD_REF:
+					case INTERFACE_METHOD_REF:
+					case NAME_AND_TYPE:
+					case DYNAMIC:
+					case INVOKE_DYNAMIC:
+						skip(in, 4);
+						break;
+					case LONG:
+					case DOUBLE:
+						skip(in, 8);
+						i++; // 8-byte constants take up two entries
+						break;
+					default:
+						throw new IOException("Invalid constant pool tag: " + tag);
+				}
+			}
+			
+			return new ConstantPool(utf8, classes);
+		}
+		
+		String getUtf8(final int index) throws IOException {
+			if(index <= 0 || index >= utf8.length || utf8[index] == null)
+				throw new IOException("Invalid UTF-8 constant index: " + index);
+			
+			return utf8[index];
+		}
+		
+		/**
+		 * @return The binary name of the referenced class, or {@code null} if {@code index} is {@code 0}.
+		 */
+		String getClassName(final int index) throws IOException {
+			if(index == 0)
+				return null;
+			if(index >= classes.length || classes[index] == 0)
+				throw new IOException("Invalid class constant index: " + index);
+			
+			return getUtf8(classes[index]).replace('/', '.');
+		}
+	}
+}
@@ -8,6 +8,8 @@ import static java.util.Optional.ofNullable;
 /**
  * Simple object storing a class' metadata.
  * Can be used to load the class into its {@link ClassLoader} using the {@link #load()} method.
+ * <p>
+ * The class and package names are derived from the resource name when requested, and are not stored by the instance.
  *
  * @version 1.0
  * @since 1.0
@@ -16,9 +18,6 @@ public class ClassMetadata extends ResourceMetadata {
 	
 	static final String CLASS_FILE_EXTENSION = ".class";
 	
-	private final String className;
-	private final String packageName;
-	
 	/**
 	 * Create a new {@code ClassMetadata} object.
 	 * While {@link #load()} has not been called, the class is not loaded into the class loader
@@ -29,21 +28,29 @@ public class ClassMetadata extends ResourceMetadata {
 	 */
 	public ClassMetadata(final String resourceName, final ClassLoader classLoader) {
 		super(resourceName, classLoader);
-		
-		this.className = resourceName.substring(0, resourceName.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.');
-		this.packageName = (className.contains(".")) ? className.substring(0, className.lastIndexOf('.')) : "";
 	}
 	
 	/**
-	 * Load the current class into its class loader.
+	 * Create a new {@code ClassMetadata} object, whose class file can be read from the element it was scanned from.
+	 *
+	 * @param resourceName The complete name of this resource.
+	 * @param classLoader  The {@code ClassLoader} object to which this resource is bound.
+	 * @param origin       The class path element this resource was scanned from, or {@code null} if it is unknown.
+	 */
+	public ClassMetadata(final String resourceName, final ClassLoader classLoader, final ResourceOrigin origin) {
+		super(resourceName, classLoader, origin);
+	}
+	
+	/**
+	 * Load the current class into its class loader, without initializing it.
 	 *
 	 * @return An {@link Optional} of the {@code Class<?>} object resulting of the class loader operation.
 	 */
 	public Optional<Class<?>> load() {
 		try {
-			return ofNullable(classLoader.loadClass(className));
+			return ofNullable(classLoader.loadClass(getName()));
 		}
-		catch(NoClassDefFoundError | ClassNotFoundException e) {
+		catch(LinkageError | ClassNotFoundException e) {
 			return empty();
 		}
 	}
@@ -52,29 +59,38 @@ public class ClassMetadata extends ResourceMetadata {
 	 * @return The fully qualified class name.
 	 */
 	public String getName() {
-		return className;
+		final String packageName = getPackage();
+		
+		return packageName.isEmpty() ? getBinarySimpleName() : packageName + '.' + getBinarySimpleName();
 	}
 	
 	/**
 	 * @return The name of the package in which the class is located.
 	 */
 	public String getPackage() {
-		return packageName;
+		return getResourcePackage().getName();
 	}
 	
 	/**
 	 * @return The simple name of the class (without its package name).
 	 */
 	public String getSimpleName() {
-		final int lastDollar = className.lastIndexOf('$');
+		final String binarySimpleName = getBinarySimpleName();
+		
+		return binarySimpleName.substring(binarySimpleName.lastIndexOf('$') + 1);
+	}
+	
+	/**
+	 * @return The name of the class file without its extension, including the names of the enclosing classes.
+	 */
+	private String getBinarySimpleName() {
+		final String fileName = getFileName();
 		
-		return (lastDollar != -1)
-			? className.substring(lastDollar + 1)
-			: packageName.isEmpty() ? className : className.substring(packageName.length() + 1);
+		return fileName.substring(0, fileName.length() - CLASS_FILE_EXTENSION.length());
 	}
 	
 	@Override
 	public String toString() {
-		return className;
+		return getName();
 	}
 }
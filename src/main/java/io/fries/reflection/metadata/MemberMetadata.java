@@ -0,0 +1,204 @@
+package io.fries.reflection.metadata;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Optional.empty;
+
+/**
+ * Simple object storing the metadata of an annotated field, method or constructor, read from its class file.
+ * Can be used to get the reflective {@link Member} through the {@link #load()} method, which loads the declaring class.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public class MemberMetadata {
+	
+	private static final String CONSTRUCTOR_NAME = "<init>";
+	
+	private final ClassMetadata declaringClass;
+	private final Kind kind;
+	private final String name;
+	private final String descriptor;
+	private final Set<String> annotations;
+	
+	/**
+	 * @param declaringClass The class declaring this member.
+	 * @param kind           The kind of this member.
+	 * @param name           The name of this member, {@code <init>} for a constructor.
+	 * @param descriptor     The JVM descriptor of this member, such as {@code (Ljava/lang/String;)V}.
+	 * @param annotations    The binary names of the runtime visible annotations directly present on this member.
+	 */
+	public MemberMetadata(final ClassMetadata declaringClass, final Kind kind, final String name, final String descriptor, final Set<String> annotations) {
+		this.declaringClass = declaringClass;
+		this.kind = kind;
+		this.name = name;
+		this.descriptor = descriptor;
+		this.annotations = unmodifiableSet(annotations);
+	}
+	
+	/**
+	 * @param declaringClass The class declaring the member.
+	 * @param field          The field, read from the class file.
+	 *
+	 * @return A new {@link MemberMetadata} describing a field.
+	 */
+	public static MemberMetadata field(final ClassMetadata declaringClass, final ClassFile.Member field) {
+		return new MemberMetadata(declaringClass, Kind.FIELD, field.getName(), field.getDescriptor(), field.getAnnotations());
+	}
+	
+	/**
+	 * @param declaringClass The class declaring the member.
+	 * @param method         The method or constructor, read from the class file.
+	 *
+	 * @return A new {@link MemberMetadata} describing a method or a constructor.
+	 */
+	public static MemberMetadata method(final ClassMetadata declaringClass, final ClassFile.Member method) {
+		final Kind kind = method.getName().equals(CONSTRUCTOR_NAME) ? Kind.CONSTRUCTOR : Kind.METHOD;
+		
+		return new MemberMetadata(declaringClass, kind, method.getName(), method.getDescriptor(), method.getAnnotations());
+	}
+	
+	/**
+	 * Load the declaring class into its class loader, and look up the reflective object matching this member's name and
+	 * descriptor.
+	 *
+	 * @return An {@link Optional} of the {@link Field}, {@link Method} or {@link Constructor} object, empty if the
+	 * declaring class cannot be loaded or does not declare this member anymore.
+	 */
+	public Optional<Member> load() {
+		final Optional<Class<?>> type = declaringClass.load();
+		
+		if(!type.isPresent())
+			return empty();
+		
+		try {
+			switch(kind) {
+				case FIELD:
+					return findField(type.get());
+				case CONSTRUCTOR:
+					return findConstructor(type.get());
+				default:
+					return findMethod(type.get());
+			}
+		}
+		catch(final NoClassDefFoundError | SecurityException e) {
+			return empty();
+		}
+	}
+	
+	private Optional<Member> findField(final Class<?> type) {
+		for(Field field : type.getDeclaredFields()) {
+			if(field.getName().equals(name) && getDescriptor(field.getType()).equals(descriptor))
+				return Optional.of(field);
+		}
+		
+		return empty();
+	}
+	
+	private Optional<Member> findMethod(final Class<?> type) {
+		for(Method method : type.getDeclaredMethods()) {
+			if(method.getName().equals(name) && getDescriptor(method.getParameterTypes(), method.getReturnType()).equals(descriptor))
+				return Optional.of(method);
+		}
+		
+		return empty();
+	}
+	
+	private Optional<Member> findConstructor(final Class<?> type) {
+		for(Constructor<?> constructor : type.getDeclaredConstructors()) {
+			if(getDescriptor(constructor.getParameterTypes(), void.class).equals(descriptor))
+				return Optional.of(constructor);
+		}
+		
+		return empty();
+	}
+	
+	private static String getDescriptor(final Class<?>[] parameterTypes, final Class<?> returnType) {
+		final StringBuilder descriptor = new StringBuilder("(");
+		
+		for(Class<?> parameterType : parameterTypes)
+			descriptor.append(getDescriptor(parameterType));
+		
+		return descriptor.append(')').append(getDescriptor(returnType)).toString();
+	}
+	
+	private static String getDescriptor(final Class<?> type) {
+		if(type.isArray())
+			return type.getName().replace('.', '/');
+		if(!type.isPrimitive())
+			return 'L' + type.getName().replace('.', '/') + ';';
+		if(type == void.class)
+			return "V";
+		if(type == boolean.class)
+			return "Z";
+		if(type == long.class)
+			return "J";
+		
+		return String.valueOf(Character.toUpperCase(type.getName().charAt(0)));
+	}
+	
+	/**
+	 * @return The class declaring this member.
+	 */
+	public ClassMetadata getDeclaringClass() {
+		return declaringClass;
+	}
+	
+	/**
+	 * @return The kind of this member.
+	 */
+	public Kind getKind() {
+		return kind;
+	}
+	
+	/**
+	 * @return The name of this member, {@code <init>} for a constructor.
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * @return The JVM descriptor of this member, such as {@code (Ljava/lang/String;)V}.
+	 */
+	public String getDescriptor() {
+		return descriptor;
+	}
+	
+	/**
+	 * @return The binary names of the runtime visible annotations directly present on this member.
+	 */
+	public Set<String> getAnnotations() {
+		return annotations;
+	}
+	
+	@Override
+	public int hashCode() {
+		return (declaringClass.hashCode() * 31 + name.hashCode()) * 31 + descriptor.hashCode();
+	}
+	
+	@Override
+	public boolean equals(final Object obj) {
+		if(!(obj instanceof MemberMetadata))
+			return false;
+		
+		final MemberMetadata member = (MemberMetadata) obj;
+		return declaringClass.equals(member.declaringClass) && name.equals(member.name) && descriptor.equals(member.descriptor);
+	}
+	
+	@Override
+	public String toString() {
+		return declaringClass.getName() + '.' + name + descriptor;
+	}
+	
+	/**
+	 * The kinds of members a {@link MemberMetadata} can describe.
+	 */
+	public enum Kind {FIELD, METHOD, CONSTRUCTOR}
+}
@@ -0,0 +1,22 @@
+package io.fries.reflection.metadata;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Functional interface giving access to the raw content of a resource, straight from the class path element it was
+ * found in (a directory or a JAR file).
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface ResourceContent {
+	
+	/**
+	 * @return A new {@link InputStream} over the content of the resource, which must be closed by the caller.
+	 *
+	 * @throws IOException If the resource cannot be read.
+	 */
+	InputStream open() throws IOException;
+}
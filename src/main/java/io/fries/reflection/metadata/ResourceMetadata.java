@@ -1,11 +1,21 @@
 package io.fries.reflection.metadata;
 
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
-import java.util.NoSuchElementException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.function.BiConsumer;
 
 /**
  * Simple object storing a resource's metadata.
- * Can be used to access the resource through the {@link #getUrl()} method.
+ * Can be used to access the resource through the {@link #getUrl()} method, or to read its content straight from the
+ * class path element it was scanned from through the {@link #getContent()} method.
+ * <p>
+ * The directory of the resource is shared with the other resources it contains: only the file name is stored by each
+ * instance, and the complete name is rebuilt when requested.
  *
  * @version 1.0
  * @since 1.0
@@ -13,7 +23,10 @@ import java.util.NoSuchElementException;
 public class ResourceMetadata {
 	
 	final ClassLoader classLoader;
-	private final String resourceName;
+	private final ResourcePackage resourcePackage;
+	private final String fileName;
+	private final int hash;
+	private final ResourceOrigin origin;
 	
 	/**
 	 * Create a new {@link ResourceMetadata} object referencing a resource in the current class path.
@@ -22,8 +35,25 @@ public class ResourceMetadata {
 	 * @param classLoader  The {@link ClassLoader} object to which this resource is bound.
 	 */
 	public ResourceMetadata(final String resourceName, final ClassLoader classLoader) {
-		this.resourceName = resourceName;
+		this(resourceName, classLoader, null);
+	}
+	
+	/**
+	 * Create a new {@link ResourceMetadata} object referencing a resource in the current class path.
+	 *
+	 * @param resourceName The complete name of this resource.
+	 * @param classLoader  The {@link ClassLoader} object to which this resource is bound.
+	 * @param origin       The class path element this resource was scanned from, or {@code null} to read its content
+	 *                     through the {@code classLoader}.
+	 */
+	public ResourceMetadata(final String resourceName, final ClassLoader classLoader, final ResourceOrigin origin) {
+		final int lastSlash = resourceName.lastIndexOf('/');
+		
+		this.resourcePackage = ResourcePackage.of(resourceName.substring(0, lastSlash + 1));
+		this.fileName = resourceName.substring(lastSlash + 1);
+		this.hash = resourceName.hashCode();
 		this.classLoader = classLoader;
+		this.origin = origin;
 	}
 	
 	/**
@@ -35,15 +65,107 @@ public class ResourceMetadata {
 	 * @return A newly instantiated {@link ResourceMetadata} object.
 	 */
 	public static ResourceMetadata create(final String resourceName, final ClassLoader classLoader) {
+		return create(resourceName, classLoader, null);
+	}
+	
+	/**
+	 * Check if the provided resource is a class file in order to instantiate the correct {@link ResourceMetadata} object.
+	 *
+	 * @param resourceName The complete name of the resource
+	 * @param classLoader  The {@link ClassLoader} object to which the resource is bound.
+	 * @param origin       The class path element the resource was scanned from, or {@code null} if it is unknown.
+	 *
+	 * @return A newly instantiated {@link ResourceMetadata} object.
+	 */
+	public static ResourceMetadata create(final String resourceName, final ClassLoader classLoader, final ResourceOrigin origin) {
 		return (resourceName.endsWith(ClassMetadata.CLASS_FILE_EXTENSION))
-			? new ClassMetadata(resourceName, classLoader)
-			: new ResourceMetadata(resourceName, classLoader);
+			? new ClassMetadata(resourceName, classLoader, origin)
+			: new ResourceMetadata(resourceName, classLoader, origin);
+	}
+	
+	/**
+	 * Read the content of each provided resource and pass it to the {@code action}. The resources are grouped by
+	 * {@link ResourceOrigin}, keeping their order within each group: every class path element is opened once as a
+	 * {@link ResourceOrigin.Batch}, reusing the same opened or mapped archive for all its resources.
+	 *
+	 * @param resources The resources to read, such as the matching ones of a scan.
+	 * @param action    The action receiving each resource along with its content, as returned by {@link #getContent()}.
+	 *
+	 * @throws IOException If one of the resources cannot be read. The following resources are not read.
+	 */
+	public static void readAll(final Collection<? extends ResourceMetadata> resources, final BiConsumer<? super ResourceMetadata, ? super ByteBuffer> action) throws IOException {
+		if(resources == null)
+			throw new IllegalArgumentException("Resources cannot be null");
+		if(action == null)
+			throw new IllegalArgumentException("Action cannot be null");
+		
+		final Map<ResourceOrigin, List<ResourceMetadata>> resourcesByOrigin = new LinkedHashMap<>();
+		
+		for(ResourceMetadata resource : resources)
+			resourcesByOrigin.computeIfAbsent(resource.origin, origin -> new ArrayList<>()).add(resource);
+		
+		for(Map.Entry<ResourceOrigin, List<ResourceMetadata>> originResources : resourcesByOrigin.entrySet()) {
+			if(originResources.getKey() == null) {
+				for(ResourceMetadata resource : originResources.getValue())
+					action.accept(resource, resource.getContent());
+			}
+			else {
+				try(final ResourceOrigin.Batch batch = originResources.getKey().open()) {
+					for(ResourceMetadata resource : originResources.getValue())
+						action.accept(resource, batch.read(resource.getResource()));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Read the content of the resource from the class path element it was scanned from. Stored (uncompressed) entries
+	 * of JAR files are not copied: the returned buffer is a view of the memory mapped archive. Resources created without
+	 * a {@link ResourceOrigin} are read through their {@link ClassLoader}.
+	 *
+	 * @return A read-only {@link ByteBuffer} over the content of the resource, from its position to its limit.
+	 *
+	 * @throws IOException If the resource does not exist anymore or cannot be read.
+	 */
+	public ByteBuffer getContent() throws IOException {
+		final String resourceName = getResource();
+		
+		if(origin != null)
+			return origin.read(resourceName);
+		
+		try(final InputStream in = classLoader.getResourceAsStream(resourceName)) {
+			if(in == null)
+				throw new FileNotFoundException(resourceName);
+			
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[8192];
+			int count;
+			
+			while((count = in.read(buffer)) != -1)
+				out.write(buffer, 0, count);
+			
+			return ByteBuffer.wrap(out.toByteArray()).asReadOnlyBuffer();
+		}
+	}
+	
+	/**
+	 * @return A new array holding the content of the resource, as returned by {@link #getContent()}.
+	 *
+	 * @throws IOException If the resource does not exist anymore or cannot be read.
+	 */
+	public byte[] getBytes() throws IOException {
+		final ByteBuffer content = getContent();
+		final byte[] bytes = new byte[content.remaining()];
+		
+		content.get(bytes);
+		return bytes;
 	}
 	
 	/**
 	 * @return The URL to this resource in the current class path.
 	 */
 	public URL getUrl() {
+		final String resourceName = getResource();
 		final URL url = classLoader.getResource(resourceName);
 		
 		if(url == null)
@@ -56,12 +178,33 @@ public class ResourceMetadata {
 	 * @return The complete name of the resource.
 	 */
 	public String getResource() {
-		return resourceName;
+		return resourcePackage.getPath().concat(fileName);
+	}
+	
+	/**
+	 * @return The class path element the resource was scanned from, or {@code null} if it is unknown.
+	 */
+	public ResourceOrigin getOrigin() {
+		return origin;
+	}
+	
+	/**
+	 * @return The shared directory of the resource.
+	 */
+	ResourcePackage getResourcePackage() {
+		return resourcePackage;
+	}
+	
+	/**
+	 * @return The name of the resource, without its directory.
+	 */
+	String getFileName() {
+		return fileName;
 	}
 	
 	@Override
 	public int hashCode() {
-		return resourceName.hashCode();
+		return hash;
 	}
 	
 	@Override
@@ -70,11 +213,14 @@ public class ResourceMetadata {
 			return false;
 		
 		final ResourceMetadata resource = (ResourceMetadata) obj;
-		return resourceName.equals(resource.resourceName) && classLoader == resource.classLoader;
+		return hash == resource.hash
+			&& fileName.equals(resource.fileName)
+			&& resourcePackage.getPath().equals(resource.resourcePackage.getPath())
+			&& classLoader == resource.classLoader;
 	}
 	
 	@Override
 	public String toString() {
-		return resourceName;
+		return getResource();
 	}
 }
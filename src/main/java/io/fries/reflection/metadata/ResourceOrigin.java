@@ -0,0 +1,66 @@
+package io.fries.reflection.metadata;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * The class path element a resource was scanned from (a directory, a JAR file or a module of the runtime image), giving
+ * access to the content of its resources without going through their {@link ClassLoader}.
+ * <p>
+ * A single instance is shared by all the resources of an element, so that an archive opened or mapped to read one of
+ * them is reused for the others.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface ResourceOrigin {
+	
+	/**
+	 * @param resourceName The complete name of a resource of this element.
+	 *
+	 * @return A read-only {@link ByteBuffer} over the content of the resource, which may be a view of a memory mapped
+	 * archive.
+	 *
+	 * @throws IOException If the resource does not exist or cannot be read.
+	 */
+	ByteBuffer read(final String resourceName) throws IOException;
+	
+	/**
+	 * Open this element to read several of its resources in a row, such as the resources of a scan read by
+	 * {@link ResourceMetadata#readAll(java.util.Collection, java.util.function.BiConsumer)}. By default, each resource
+	 * is read with {@link #read(String)}.
+	 *
+	 * @return A new {@link Batch} reading the resources of this element until it is closed.
+	 *
+	 * @throws IOException If the element cannot be opened.
+	 */
+	default Batch open() throws IOException {
+		return this::read;
+	}
+	
+	/**
+	 * Resources of a {@link ResourceOrigin} read in a row, keeping the element open until the batch is closed.
+	 *
+	 * @version 1.0
+	 * @since 1.0
+	 */
+	@FunctionalInterface
+	interface Batch extends Closeable {
+		
+		/**
+		 * @param resourceName The complete name of a resource of the element.
+		 *
+		 * @return A read-only {@link ByteBuffer} over the content of the resource, as returned by
+		 * {@link ResourceOrigin#read(String)}.
+		 *
+		 * @throws IOException If the resource does not exist or cannot be read.
+		 */
+		ByteBuffer read(final String resourceName) throws IOException;
+		
+		@Override
+		default void close() throws IOException {
+		}
+	}
+}
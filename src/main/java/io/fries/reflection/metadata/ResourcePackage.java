@@ -0,0 +1,61 @@
+package io.fries.reflection.metadata;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Directory of a resource, shared by all the resources it contains.
+ * <p>
+ * The instances are interned: as long as a resource of a directory is referenced, every new resource created in the
+ * same directory reuses its {@link ResourcePackage}. Each directory path and package name is thus stored once, instead
+ * of being repeated in the name of each of its resources.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class ResourcePackage {
+	
+	private static final Map<String, WeakReference<ResourcePackage>> PACKAGES = new WeakHashMap<>();
+	
+	private final String path;
+	private final String name;
+	
+	private ResourcePackage(final String path) {
+		this.path = path;
+		this.name = path.isEmpty() ? "" : path.substring(0, path.length() - 1).replace('/', '.');
+	}
+	
+	/**
+	 * @param path The path of a directory, ending with a {@code '/'}, or an empty {@link String} for the root directory.
+	 *
+	 * @return The interned {@link ResourcePackage} of the provided directory.
+	 */
+	static ResourcePackage of(final String path) {
+		synchronized(PACKAGES) {
+			final WeakReference<ResourcePackage> reference = PACKAGES.get(path);
+			ResourcePackage resourcePackage = (reference != null) ? reference.get() : null;
+			
+			if(resourcePackage == null) {
+				resourcePackage = new ResourcePackage(path);
+				PACKAGES.put(resourcePackage.path, new WeakReference<>(resourcePackage));
+			}
+			
+			return resourcePackage;
+		}
+	}
+	
+	/**
+	 * @return The path of the directory, ending with a {@code '/'} unless it is the root directory.
+	 */
+	String getPath() {
+		return path;
+	}
+	
+	/**
+	 * @return The name of the package, using {@code '.'} as a separator.
+	 */
+	String getName() {
+		return name;
+	}
+}
@@ -0,0 +1,452 @@
+package io.fries.reflection.scanners;
+
+import io.fries.reflection.filters.Filter;
+import io.fries.reflection.metadata.ResourceOrigin;
+
+import java.io.*;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Listing of a single class path element (a directory, a JAR file, an element nested in a JAR file or a module of the
+ * runtime image), independent from any other element.
+ * <p>
+ * Listing an entry has no side effect on the {@link ClassPathScanner} that requested it, which allows several entries
+ * to be listed concurrently before being merged in the class path order.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class ClassPathEntry {
+	
+	private final File file;
+	private final ClassLoader classLoader;
+	private final Set<File> classPath;
+	private final List<String> resources;
+	private final ResourceOrigin origin;
+	private final List<Exception> errors;
+	
+	/**
+	 * @param file        The listed class path element.
+	 * @param classLoader The {@link ClassLoader} the element is attached to.
+	 * @param classPath   The class path elements referenced by the element's Manifest file.
+	 * @param resources   The names of the accepted resources, in listing order.
+	 * @param origin      The origin of the element's resources, or {@code null} if it cannot be read.
+	 * @param errors      The failures that prevented the element, or parts of it, from being read.
+	 */
+	private ClassPathEntry(final File file, final ClassLoader classLoader, final Set<File> classPath, final List<String> resources, final ResourceOrigin origin, final List<Exception> errors) {
+		this.file = file;
+		this.classLoader = classLoader;
+		this.classPath = classPath;
+		this.resources = resources;
+		this.origin = origin;
+		this.errors = errors;
+	}
+	
+	/**
+	 * List the resources of the provided class path element and apply the {@code filters} to each of them.
+	 * An element that does not exist, cannot be accessed or is not a JAR file results in an empty listing. The failures
+	 * are kept by the listing (see {@link #requireReadable()}) and reported to the {@link ScanListener}, if any.
+	 * <p>
+	 * When the {@code options} have a {@link ScanListener}, the filters are measured and the statistics of the listing
+	 * are reported to it; otherwise nothing is measured.
+	 *
+	 * @param file        The directory or JAR file to list.
+	 * @param classLoader The {@link ClassLoader} the element is attached to.
+	 * @param options     The {@link ScanOptions} of the scanner.
+	 *
+	 * @return A new {@link ClassPathEntry} instance.
+	 */
+	static ClassPathEntry list(final File file, final ClassLoader classLoader, final ScanOptions options) {
+		final Set<File> classPath = new LinkedHashSet<>();
+		final List<String> resources = new ArrayList<>();
+		final ScanListener listener = options.getListener();
+		final long start = (listener != null) ? System.nanoTime() : 0;
+		final FilterChain filters = (listener != null) ? options.getFilters().measure() : options.getFilters();
+		final ListingErrors errors = new ListingErrors(file, listener);
+		ResourceOrigin origin = null;
+		
+		try {
+			if(ModuleSupport.isSystemModule(file)) {
+				origin = EntryOrigin.ofSystemModule(file);
+				listSystemModule(file, classLoader, filters, errors, resources);
+			}
+			else if(file.isDirectory()) {
+				origin = EntryOrigin.ofDirectory(file);
+				
+				if(!options.isIndexed() || !listIndexedDirectory(file, classLoader, filters, errors, resources))
+					DirectoryWalker.walk(file.toPath(), classLoader, filters, options.getExecutor(), resources, errors::report);
+			}
+			else if(file.exists()) {
+				origin = EntryOrigin.ofArchive(file, "");
+				listJar(file, classLoader, options, filters, errors, classPath, resources);
+			}
+			else if(NestedArchive.isNested(file))
+				origin = listNested(file, classLoader, options, filters, errors, classPath, resources);
+		}
+		catch(final SecurityException e) {
+			/* If the file is protected and cannot be accessed */
+			errors.report(e);
+		}
+		
+		if(listener != null) {
+			filters.report(listener, file);
+			listener.onEntryListed(file, resources.size(), filters.getBytesRead(), System.nanoTime() - start);
+		}
+		
+		return new ClassPathEntry(file, classLoader, classPath, resources, origin, errors.get());
+	}
+	
+	/**
+	 * Read the class path defined in the JAR's Manifest file, then list each of its entries that is not a directory
+	 * nor a Manifest file.
+	 * <p>
+	 * When the {@code cache} holds an up-to-date {@link JarIndex} of the JAR, the JAR file is only opened if a
+	 * {@link Filter} requests the content of one of its resources. When its {@link PackageSummary} shows that none of
+	 * its packages can be accepted by the {@code filters}, its resources are not listed at all.
+	 */
+	private static void listJar(final File file, final ClassLoader classLoader, final ScanOptions options, final FilterChain filters, final ListingErrors errors, final Set<File> classPath, final List<String> resources) {
+		try(final LazyJarFile jarFile = new LazyJarFile(file)) {
+			final JarIndex index = getJarIndex(file, jarFile, options);
+			
+			classPath.addAll(index.getClassPath());
+			
+			final List<String> resourceNames = options.isNestedJars() ? NestedArchive.expand(file, index.getResources(), classPath) : index.getResources();
+			
+			if(!filters.isEmpty() && !index.getPackageSummary().mayMatch(filters, classLoader))
+				return;
+			
+			final PackageSelector packageSelector = new PackageSelector(filters);
+			
+			resourceNames.stream()
+				.filter(packageSelector::accepts)
+				.filter(resourceName -> filters.accept(classLoader, resourceName, () -> jarFile.getInputStream(resourceName)))
+				.forEach(resources::add);
+		}
+		catch(final IOException e) {
+			/* Not a JAR file */
+			errors.report(e);
+		}
+	}
+	
+	/**
+	 * List a JAR file or a directory nested in an archive, read in place from the mapped enclosing archive. The class
+	 * path declared in the Manifest file of a nested JAR is ignored.
+	 * The enclosing archive is only read once per scan, for all its nested elements.
+	 *
+	 * @return The origin of the element's resources, or {@code null} if the enclosing archive cannot be read.
+	 */
+	private static ResourceOrigin listNested(final File file, final ClassLoader classLoader, final ScanOptions options, final FilterChain filters, final ListingErrors errors, final Set<File> classPath, final List<String> resources) {
+		try {
+			final ZipDirectory archive = options.getEnclosingArchive(NestedArchive.getArchive(file));
+			final String entryName = NestedArchive.getEntryName(file);
+			final PackageSelector packageSelector = new PackageSelector(filters);
+			
+			if(archive.contains(entryName)) {
+				final ZipDirectory jar = ZipDirectory.read(archive.getContent(entryName));
+				final List<String> resourceNames = options.isNestedJars() ? NestedArchive.expand(file, jar.getNames(), classPath) : jar.getNames();
+				
+				resourceNames.stream()
+					.filter(packageSelector::accepts)
+					.filter(resourceName -> filters.accept(classLoader, resourceName, () -> jar.open(resourceName)))
+					.forEach(resources::add);
+				
+				return EntryOrigin.ofArchive(file, "");
+			}
+			else {
+				final String directoryPrefix = entryName + '/';
+				
+				archive.getNames().stream()
+					.filter(name -> name.startsWith(directoryPrefix))
+					.map(name -> name.substring(directoryPrefix.length()))
+					.filter(packageSelector::accepts)
+					.filter(resourceName -> filters.accept(classLoader, resourceName, () -> archive.open(directoryPrefix + resourceName)))
+					.forEach(resources::add);
+				
+				return EntryOrigin.ofArchive(NestedArchive.getArchive(file), directoryPrefix);
+			}
+		}
+		catch(final IOException e) {
+			/* The enclosing archive or the nested element cannot be read */
+			errors.report(e);
+			
+			return null;
+		}
+	}
+	
+	/**
+	 * @return The content of the JAR file, read from the shared in-memory cache first, then from the persistent cache,
+	 * then from the index embedded in the JAR (if the scanner is indexed) and finally from the JAR's central directory.
+	 * The content that is not read from the shared cache is stored in it.
+	 */
+	private static JarIndex getJarIndex(final File file, final LazyJarFile jarFile, final ScanOptions options) throws IOException {
+		final SharedScanCache sharedCache = options.getSharedCache();
+		final Optional<JarIndex> sharedIndex = (sharedCache != null) ? sharedCache.read(file) : Optional.empty();
+		
+		if(sharedIndex.isPresent())
+			return sharedIndex.get();
+		
+		final long length = file.length();
+		final long lastModified = file.lastModified();
+		final JarIndex index = getUncachedJarIndex(file, jarFile, options, length, lastModified);
+		
+		if(sharedCache != null)
+			sharedCache.write(file, length, lastModified, index);
+		
+		return index;
+	}
+	
+	private static JarIndex getUncachedJarIndex(final File file, final LazyJarFile jarFile, final ScanOptions options, final long length, final long lastModified) throws IOException {
+		final ScanCache cache = options.getCache();
+		final Optional<JarIndex> cachedIndex = (cache != null) ? cache.read(file) : Optional.empty();
+		
+		if(cachedIndex.isPresent())
+			return cachedIndex.get();
+		
+		final ZipDirectory directory = (options.isIndexed() || options.isMappedJars()) ? mapJar(file) : null;
+		
+		if(options.isIndexed()) {
+			final Optional<JarIndex> embeddedIndex = (directory != null) ? JarIndex.readEmbedded(file, directory) : JarIndex.readEmbedded(file, jarFile.get());
+			
+			if(embeddedIndex.isPresent())
+				return embeddedIndex.get();
+		}
+		
+		final JarIndex index = readJarIndex(file, jarFile, options.isMappedJars() ? directory : null);
+		
+		if(cache != null)
+			cache.write(file, length, lastModified, index);
+		
+		return index;
+	}
+	
+	/**
+	 * @return The memory mapped central directory of the JAR file, or {@code null} if the JAR cannot be mapped and must
+	 * be read with a {@link JarFile}.
+	 */
+	private static ZipDirectory mapJar(final File file) {
+		try {
+			return ZipDirectory.read(file);
+		}
+		catch(final IOException e) {
+			/* Fall back to the JarFile implementation */
+			return null;
+		}
+	}
+	
+	/**
+	 * @return The content of the JAR file, read from its memory mapped central directory if there is one, or from a
+	 * {@link JarFile} otherwise.
+	 */
+	private static JarIndex readJarIndex(final File file, final LazyJarFile jarFile, final ZipDirectory directory) throws IOException {
+		if(directory != null) {
+			try {
+				return JarIndex.readMapped(file, directory);
+			}
+			catch(final IOException e) { /* Fall back to the JarFile implementation */ }
+		}
+		
+		return JarIndex.read(file, jarFile.get());
+	}
+	
+	/**
+	 * List the resources of a {@code jrt:/<module>} element as they are read from the runtime image, without
+	 * collecting the names of the resources of the packages rejected by the {@code filters}.
+	 */
+	private static void listSystemModule(final File file, final ClassLoader classLoader, final FilterChain filters, final ListingErrors errors, final List<String> resources) {
+		try(final ModuleContent content = ModuleSupport.openSystemModule(file);
+			final Stream<String> resourceNames = content.list()) {
+			final PackageSelector packageSelector = new PackageSelector(filters);
+			
+			resourceNames
+				.filter(packageSelector::accepts)
+				.filter(resourceName -> filters.accept(classLoader, resourceName, () -> content.open(resourceName)))
+				.forEach(resources::add);
+		}
+		catch(final IOException | UncheckedIOException e) {
+			/* The module cannot be read */
+			errors.report(e);
+		}
+	}
+	
+	/**
+	 * List the resources of a directory from its embedded {@value ReflectionIndex#INDEX_NAME} file.
+	 *
+	 * @return {@code true} if the directory has a valid index; {@code false} if its content must be listed.
+	 */
+	private static boolean listIndexedDirectory(final File dir, final ClassLoader classLoader, final FilterChain filters, final ListingErrors errors, final List<String> resources) {
+		final File indexFile = new File(dir, ReflectionIndex.INDEX_NAME);
+		
+		if(!indexFile.isFile())
+			return false;
+		
+		final List<String> indexedResources;
+		
+		try(final InputStream in = new FileInputStream(indexFile)) {
+			indexedResources = ReflectionIndex.read(in);
+		}
+		catch(final IOException e) {
+			errors.report(e);
+			return false;
+		}
+		
+		final PackageSelector packageSelector = new PackageSelector(filters);
+		
+		indexedResources.stream()
+			.filter(packageSelector::accepts)
+			.filter(resourceName -> filters.accept(classLoader, resourceName, () -> new FileInputStream(new File(dir, resourceName))))
+			.forEach(resources::add);
+		
+		return true;
+	}
+	
+	/**
+	 * @return The listed class path element.
+	 */
+	File getFile() {
+		return file;
+	}
+	
+	/**
+	 * @return The {@link ClassLoader} the element was listed for.
+	 */
+	ClassLoader getClassLoader() {
+		return classLoader;
+	}
+	
+	/**
+	 * @return The class path elements referenced by the element's Manifest file.
+	 */
+	Set<File> getClassPath() {
+		return classPath;
+	}
+	
+	/**
+	 * @return The names of the accepted resources, in listing order.
+	 */
+	List<String> getResources() {
+		return resources;
+	}
+	
+	/**
+	 * @return The origin shared by the element's resources, or {@code null} if the element cannot be read.
+	 */
+	ResourceOrigin getOrigin() {
+		return origin;
+	}
+	
+	/**
+	 * @return The failures that prevented the element, or parts of it, from being read, in the order they occurred.
+	 */
+	List<Exception> getErrors() {
+		return errors;
+	}
+	
+	/**
+	 * @throws ScanException If the element, or a part of it, could not be read. Its first failure is the cause of the
+	 *                       exception, and the following ones are suppressed by it.
+	 */
+	void requireReadable() {
+		if(errors.isEmpty())
+			return;
+		
+		final ScanException exception = new ScanException(file, errors.get(0));
+		
+		errors.stream().skip(1).forEach(exception::addSuppressed);
+		throw exception;
+	}
+	
+	/**
+	 * Failures of a listing, reported to the {@link ScanListener} as they occur and kept along with the listing. The
+	 * helper tasks walking a directory concurrently may report failures at the same time.
+	 */
+	private static final class ListingErrors {
+		
+		private final File file;
+		private final ScanListener listener;
+		private final List<Exception> errors;
+		
+		private ListingErrors(final File file, final ScanListener listener) {
+			this.file = file;
+			this.listener = listener;
+			this.errors = new ArrayList<>();
+		}
+		
+		private synchronized void report(final Exception exception) {
+			errors.add(exception);
+			
+			if(listener != null)
+				listener.onError(file, exception);
+		}
+		
+		private synchronized List<Exception> get() {
+			return errors.isEmpty() ? Collections.emptyList() : new ArrayList<>(errors);
+		}
+	}
+	
+	/**
+	 * Select the resources whose package may be accepted by the filters, from a listing in which the resources of a same
+	 * package are mostly contiguous. The filters are only asked about a package when it differs from the previous one.
+	 */
+	private static final class PackageSelector {
+		
+		private final FilterChain filters;
+		private String directory;
+		private boolean accepted;
+		
+		private PackageSelector(final FilterChain filters) {
+			this.filters = filters;
+		}
+		
+		private boolean accepts(final String resourceName) {
+			if(filters.isEmpty())
+				return true;
+			
+			final int directoryLength = Math.max(resourceName.lastIndexOf('/'), 0);
+			
+			if(directory == null || directory.length() != directoryLength || !resourceName.startsWith(directory)) {
+				directory = resourceName.substring(0, directoryLength);
+				accepted = filters.acceptsPackage(directory.replace('/', '.'));
+			}
+			
+			return accepted;
+		}
+	}
+	
+	/**
+	 * {@link JarFile} opened on first use only.
+	 */
+	private static final class LazyJarFile implements Closeable {
+		
+		private final File file;
+		private JarFile jarFile;
+		
+		private LazyJarFile(final File file) {
+			this.file = file;
+		}
+		
+		private JarFile get() throws IOException {
+			if(jarFile == null)
+				jarFile = new JarFile(file);
+			
+			return jarFile;
+		}
+		
+		private InputStream getInputStream(final String resourceName) throws IOException {
+			final JarEntry entry = get().getJarEntry(resourceName);
+			
+			if(entry == null)
+				throw new FileNotFoundException(resourceName);
+			
+			return get().getInputStream(entry);
+		}
+		
+		@Override
+		public void close() throws IOException {
+			if(jarFile != null)
+				jarFile.close();
+		}
+	}
+}
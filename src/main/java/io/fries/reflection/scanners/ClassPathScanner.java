@@ -2,23 +2,30 @@ package io.fries.reflection.scanners;
 
 import io.fries.reflection.filters.Filter;
 import io.fries.reflection.metadata.ResourceMetadata;
+import io.fries.reflection.metadata.ResourceOrigin;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.jar.JarFile;
-import java.util.jar.Manifest;
-import java.util.stream.Collectors;
-
-import static java.util.Arrays.stream;
-import static java.util.jar.Attributes.Name.CLASS_PATH;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Scan the resources of a {@link ClassLoader}'s classpath and store their simple metadata.
+ * <p>
+ * A scanner is safe for use by multiple threads: its configuration methods and its scans are synchronized on the
+ * scanner itself. The result of a full scan is computed once and shared: concurrent calls to {@link #getResources()}
+ * wait for the same scan, and any later change of the configuration discards it so that the next call scans the class
+ * path again. A scan is always run with the configuration it started with.
  *
  * @version 1.0
  * @since 1.0
@@ -26,10 +33,18 @@ import static java.util.jar.Attributes.Name.CLASS_PATH;
 public final class ClassPathScanner implements Scanner {
 	
 	private final ClassLoader classLoader;
+	private Executor executor;
+	private ScanCache cache;
+	private boolean sharedCache;
+	private boolean indexed;
+	private boolean mappedJars;
+	private boolean nestedJars;
+	private boolean systemModules;
+	private ScanListener listener;
+	private boolean failOnError;
 	
 	private final Set<Filter> filters;
-	private final Set<File> scannedUris;
-	private final Map<ClassLoader, Set<String>> resources;
+	private CompletableFuture<Set<ResourceMetadata>> scan;
 	
 	/**
 	 * Create a new {@link ClassPathScanner} object that will scan the provided {@link ClassLoader}'s classpath and apply some
@@ -40,9 +55,17 @@ public final class ClassPathScanner implements Scanner {
 	private ClassPathScanner(final ClassLoader classLoader) {
 		this.classLoader = classLoader;
 		
-		this.filters = new HashSet<>();
-		this.scannedUris = new HashSet<>();
-		this.resources = new HashMap<>();
+		this.executor = null;
+		this.cache = null;
+		this.sharedCache = false;
+		this.indexed = false;
+		this.mappedJars = false;
+		this.nestedJars = false;
+		this.systemModules = false;
+		this.listener = null;
+		this.failOnError = false;
+		this.filters = new LinkedHashSet<>();
+		this.scan = null;
 	}
 	
 	/**
@@ -57,15 +80,20 @@ public final class ClassPathScanner implements Scanner {
 	}
 	
 	/**
+	 * The filters are combined with a logical {@code AND}, and applied from the cheapest to the most expensive according
+	 * to their {@link Filter#getCost()} method. Use {@link Filter#and(Filter)}, {@link Filter#or(Filter)} and
+	 * {@link Filter#not(Filter)} to combine them differently.
+	 *
 	 * @param filter A filter to apply on the scanned resources.
 	 *
 	 * @return This {@link ClassPathScanner} instance.
 	 */
-	public ClassPathScanner filter(final Filter filter) {
+	public synchronized ClassPathScanner filter(final Filter filter) {
 		if(filter == null)
 			throw new IllegalArgumentException("Filter cannot be null");
 		
 		this.filters.add(filter);
+		this.scan = null;
 		return this;
 	}
 	
@@ -82,102 +110,281 @@ public final class ClassPathScanner implements Scanner {
 	}
 	
 	/**
-	 * @return A copy of the scanner's resources set.
+	 * Enable the parallel scan mode: the class path elements (directories and JAR files), and the subdirectories of the
+	 * directories, are listed concurrently using the provided {@link Executor}, while the resulting resources keep the
+	 * same order as a sequential scan.
+	 * <p>
+	 * The configured {@link Filter}s may then be called from several threads at once.
+	 *
+	 * @param executor The {@link Executor} (e.g. a {@link java.util.concurrent.ForkJoinPool}) listing the class path elements.
+	 *
+	 * @return This {@link ClassPathScanner} instance.
 	 */
-	@Override
-	public Set<ResourceMetadata> getResources() {
-		scanClassPath();
-		
-		final Set<ResourceMetadata> set = new LinkedHashSet<>();
+	public synchronized ClassPathScanner parallel(final Executor executor) {
+		if(executor == null)
+			throw new IllegalArgumentException("Executor cannot be null");
 		
-		resources.forEach((classLoader, names) ->
-			names.forEach(res -> set.add(ResourceMetadata.create(res, classLoader)))
-		);
+		this.executor = executor;
+		this.scan = null;
+		return this;
+	}
+	
+	/**
+	 * Enable the persistent scan cache: the content of each scanned JAR file is stored in the provided directory, and
+	 * read back on the next scans instead of opening the JAR again, as long as its size and last modification time are
+	 * unchanged.
+	 * <p>
+	 * The cache stores the unfiltered content of the JAR files, so a single directory can be shared by scanners using
+	 * different {@link Filter}s. Directories of the class path are always scanned.
+	 *
+	 * @param directory The directory in which the cached content is stored. It is created if it does not exist.
+	 *
+	 * @return This {@link ClassPathScanner} instance.
+	 */
+	public synchronized ClassPathScanner cache(final File directory) {
+		if(directory == null)
+			throw new IllegalArgumentException("Cache directory cannot be null");
 		
-		return set;
+		this.cache = new ScanCache(directory);
+		this.scan = null;
+		return this;
 	}
 	
 	/**
-	 * Run a full scan of the provided {@link #classLoader} attribute.
+	 * Enable the JVM-wide in-memory cache: the content of each scanned JAR file is kept in memory and reused by all the
+	 * scanners enabling this cache, whatever their {@link ClassLoader} and {@link Filter}s. A JAR file shared by several
+	 * {@link ClassLoader}s, such as the parent JARs of the web applications of a server, is then only listed once.
+	 * <p>
+	 * The JAR files are identified by their canonical path, and their content is discarded as soon as their size or
+	 * last modification time changes. The cache holds at most {@code io.fries.reflection.sharedCache.maxResources}
+	 * resource names (200000 by default), and evicts the least recently used JAR files first.
+	 *
+	 * @return This {@link ClassPathScanner} instance.
 	 */
-	private void scanClassPath() {
-		getClassPathEntries(classLoader).forEach(this::scan);
+	public synchronized ClassPathScanner sharedCache() {
+		this.sharedCache = true;
+		this.scan = null;
+		return this;
 	}
 	
-	private void scan(final File file, final ClassLoader classLoader) {
-		// If the current file has already been scanned, abort this method call.
-		if(!scannedUris.add(file))
-			return;
+	/**
+	 * Enable the memory mapped listing of the JAR files: their central directory is read straight from a mapped copy of
+	 * the file, which skips the creation of a {@link java.util.jar.JarEntry} per entry, and their Manifest file is only
+	 * read when they have one.
+	 * <p>
+	 * The JAR files that cannot be mapped (such as archives larger than 2GB) are read as usual. On some platforms, a
+	 * mapped file cannot be deleted until the mapping is garbage collected.
+	 *
+	 * @return This {@link ClassPathScanner} instance.
+	 */
+	public synchronized ClassPathScanner mappedJars() {
+		this.mappedJars = true;
+		this.scan = null;
+		return this;
+	}
+	
+	/**
+	 * Scan the content of the executable ("fat") JAR files: the resources of their {@code BOOT-INF/classes} and
+	 * {@code WEB-INF/classes} directories, and of the JAR files stored in their {@code BOOT-INF/lib} and
+	 * {@code WEB-INF/lib} directories, are scanned as if these elements were referenced by the enclosing JAR's Manifest
+	 * file.
+	 * <p>
+	 * Each nested element is attached to the {@link ClassLoader} able to load it: the one having its URL, or else the
+	 * enclosing JAR's {@link ClassLoader} or the scanned {@link ClassLoader} if it finds the element's resources in it. A
+	 * nested element that none of them can load, such as the libraries of an archive that is not being run by its
+	 * launcher, is not scanned.
+	 * <p>
+	 * The nested JAR files are read in place from the mapped enclosing JAR, without being extracted. The nested elements
+	 * found in the URLs of a {@link URLClassLoader} ({@code jar:file:/app.jar!/BOOT-INF/lib/library.jar!/}) are always
+	 * scanned, and attached to that {@link ClassLoader}.
+	 *
+	 * @return This {@link ClassPathScanner} instance.
+	 */
+	public synchronized ClassPathScanner nestedJars() {
+		this.nestedJars = true;
+		this.scan = null;
+		return this;
+	}
+	
+	/**
+	 * Also scan the modules of the runtime image (the {@code jrt:/} file system), such as {@code java.base}, before the
+	 * class path. Their resources are attached to the {@link ClassLoader} defining each module, or to the platform
+	 * {@link ClassLoader} for the modules of the bootstrap {@link ClassLoader}.
+	 * <p>
+	 * The modules are read lazily, and the resources of the packages rejected by the {@link Filter}s are never listed.
+	 * This option has no effect before Java 9.
+	 *
+	 * @return This {@link ClassPathScanner} instance.
+	 */
+	public synchronized ClassPathScanner systemModules() {
+		this.systemModules = true;
+		this.scan = null;
+		return this;
+	}
+	
+	/**
+	 * Report the statistics of each listed class path element to the provided listener: listing time, number of
+	 * resources, bytes read, time spent in each filter and ignored failures.
+	 *
+	 * @param listener The {@link ScanListener} (e.g. a {@link JfrScanListener}) receiving the statistics.
+	 *
+	 * @return This {@link ClassPathScanner} instance.
+	 */
+	public synchronized ClassPathScanner listener(final ScanListener listener) {
+		if(listener == null)
+			throw new IllegalArgumentException("Listener cannot be null");
 		
-		try {
-			if(!file.exists())
-				return;
-			
-			if(file.isDirectory())
-				scanDirectory(file, classLoader, "");
-			else
-				scanJar(file, classLoader);
-		}
-		catch(final SecurityException e) { /* If the file is protected and cannot be accessed */ }
+		this.listener = listener;
+		this.scan = null;
+		return this;
 	}
 	
 	/**
-	 * For each JAR file, scan the class path resources defined in its Manifest file and re-run a full scan on them
-	 * before calling the {@link #scanJarFile(JarFile, ClassLoader)} on itself.
+	 * Make the scans fail when a class path element, or a part of it, cannot be read: {@link #getResources()} and the
+	 * {@link #stream()} then throw a {@link ScanException} instead of skipping the unreadable resources. This is how
+	 * {@link io.fries.reflection.Reflection#ofAsync(Scanner, Executor)} reports an unreadable class path.
+	 * <p>
+	 * The elements that do not exist, such as the missing JAR files referenced by a Manifest file, are still ignored.
+	 * The failures are reported to the {@link ScanListener} in both modes.
 	 *
-	 * @param file        The JAR file which is to be scanned.
-	 * @param classLoader The {@link ClassLoader} the provided JAR file is attached to.
+	 * @return This {@link ClassPathScanner} instance.
 	 */
-	private void scanJar(final File file, final ClassLoader classLoader) {
-		try(final JarFile jarFile = new JarFile(file)) {
-			getClassPathFromManifest(file, jarFile.getManifest()).forEach(classPathEntry -> scan(classPathEntry, classLoader));
-			scanJarFile(jarFile, classLoader);
-		}
-		catch(final IOException e) { /* Not a JAR file */ }
+	public synchronized ClassPathScanner failOnError() {
+		this.failOnError = true;
+		this.scan = null;
+		return this;
 	}
 	
 	/**
-	 * List all files inside of the given directory.
-	 * If the file is itself another directory, proceed with a recursive call to this method with an updated {@code packagePrefix}.
-	 * Otherwise, if it is not a Manifest file, it is added as a resource in the scanner's resources set.
+	 * Read the resources of the class path elements from their embedded {@value ReflectionIndex#INDEX_NAME} file when
+	 * they have one, instead of listing their content.
 	 *
-	 * @param dir           The directory to scan.
-	 * @param classLoader   The {@link ClassLoader} the provided directory is attached to.
-	 * @param packagePrefix The current name of the package we're in, constructed through recursive calls.
+	 * @return This {@link ClassPathScanner} instance.
+	 *
+	 * @see IndexScanner
 	 */
-	private void scanDirectory(final File dir, final ClassLoader classLoader, final String packagePrefix) {
-		final File[] files = dir.listFiles();
+	synchronized ClassPathScanner indexed() {
+		this.indexed = true;
+		this.scan = null;
+		return this;
+	}
+	
+	/**
+	 * @return A copy of the scanner's resources set, computed by the first call following a change of the
+	 * configuration.
+	 */
+	@Override
+	public Set<ResourceMetadata> getResources() {
+		return new LinkedHashSet<>(join(getScan()));
+	}
+	
+	/**
+	 * Lazily scan the provided {@link #classLoader} attribute: each class path element is only listed once the resources
+	 * of the previous ones have been consumed, so that short-circuiting operations such as {@link Stream#findFirst()}
+	 * stop the scan early, and the resources are not retained by the scanner.
+	 * <p>
+	 * Unlike {@link #getResources()}, the resources are delivered in the class path order, and a resource found in
+	 * several elements attached to the same {@link ClassLoader} is delivered each time. The stream is always computed
+	 * on the calling thread, and does not share any state with the other scans of this instance.
+	 *
+	 * @return A sequential {@link Stream} of the scanned resources.
+	 */
+	@Override
+	public Stream<ResourceMetadata> stream() {
+		return StreamSupport.stream(new ResourceSpliterator(classLoader, getClassPathEntries(), getOptions()), false);
+	}
+	
+	/**
+	 * @return A new {@link ClassPathWatcher} publishing the resources of this scanner's class path, updated each time a
+	 * file of one of its directories is created, modified or deleted.
+	 *
+	 * @throws IOException If the file system does not support watching directories.
+	 *
+	 * @see ClassPathWatcher
+	 */
+	public ClassPathWatcher watch() throws IOException {
+		return new ClassPathWatcher(this);
+	}
+	
+	/**
+	 * @return The class path elements of the provided {@link #classLoader} attribute and their {@link ClassLoader},
+	 * preceded by the modules of the runtime image if {@link #systemModules()} was requested.
+	 */
+	synchronized Map<File, ClassLoader> getClassPathEntries() {
+		if(!systemModules)
+			return getClassPathEntries(classLoader);
 		
-		if(files == null)
-			return;
+		final Map<File, ClassLoader> entries = new LinkedHashMap<>(ModuleSupport.getSystemModules());
 		
-		for(File file : files) {
-			final String resourceName = packagePrefix + file.getName();
-			
-			if(file.isDirectory())
-				scanDirectory(file, classLoader, resourceName + '/');
-			else if(filters.isEmpty() || filters.stream().allMatch(filter -> filter.accept(classLoader, resourceName)))
-				addResource(classLoader, resourceName);
-		}
+		getClassPathEntries(classLoader).forEach(entries::putIfAbsent);
+		return entries;
 	}
 	
 	/**
-	 * For each {@link java.util.jar.JarEntry} that is not a directory nor a Manifest file,
-	 * add the resource to the scanner's resources set.
-	 *
-	 * @param jarFile     The JAR file to scan.
-	 * @param classLoader The {@link ClassLoader} the provided JAR file is attached to.
+	 * @return The scanned {@link ClassLoader}.
 	 */
-	private void scanJarFile(final JarFile jarFile, final ClassLoader classLoader) {
-		jarFile.stream()
-			.filter(entry -> !entry.isDirectory() && !entry.getName().equals(JarFile.MANIFEST_NAME))
-			.filter(entry -> filters.isEmpty() || filters.stream().allMatch(filter -> filter.accept(classLoader, entry.getName())))
-			.forEach(entry -> addResource(classLoader, entry.getName()));
+	ClassLoader getClassLoader() {
+		return classLoader;
+	}
+	
+	/**
+	 * @return The current configuration of this scanner, with its {@link Filter}s compiled into a {@link FilterChain}.
+	 */
+	synchronized ScanOptions getOptions() {
+		return new ScanOptions(new FilterChain(filters), cache, sharedCache ? SharedScanCache.INSTANCE : null, indexed, mappedJars, nestedJars, listener, executor, failOnError);
+	}
+	
+	/**
+	 * @return The full scan of the current configuration, pending or completed. If there is none, it is started and run
+	 * by the calling thread.
+	 */
+	private CompletableFuture<Set<ResourceMetadata>> getScan() {
+		final CompletableFuture<Set<ResourceMetadata>> pendingScan;
+		final Scan newScan;
+		
+		synchronized(this) {
+			if(scan != null)
+				return scan;
+			
+			pendingScan = scan = new CompletableFuture<>();
+			newScan = new Scan(classLoader, getClassPathEntries(), getOptions(), executor);
+		}
+		
+		try {
+			pendingScan.complete(newScan.run());
+		}
+		catch(final RuntimeException | Error e) {
+			synchronized(this) {
+				if(scan == pendingScan)
+					scan = null;
+			}
+			
+			pendingScan.completeExceptionally(e);
+		}
+		
+		return pendingScan;
+	}
+	
+	private static <T> T join(final CompletableFuture<T> future) {
+		try {
+			return future.join();
+		}
+		catch(final CompletionException e) {
+			if(e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			if(e.getCause() instanceof Error)
+				throw (Error) e.getCause();
+			
+			throw e;
+		}
 	}
 	
 	/**
 	 * Scan the whole {@link ClassLoader} object and its parent in order to map their files to the correct
 	 * {@link ClassLoader} instance.
+	 * <p>
+	 * Since Java 9, the system {@link ClassLoader} is not a {@link URLClassLoader} anymore: its elements are read from
+	 * the module path of the boot layer and from the {@code java.class.path} system property instead.
 	 *
 	 * @param classLoader The {@link ClassLoader} object which content is to be scanned.
 	 *
@@ -193,67 +400,304 @@ public final class ClassPathScanner implements Scanner {
 		if(classLoader instanceof URLClassLoader) {
 			final URLClassLoader urlClassLoader = (URLClassLoader) classLoader;
 			
-			stream(urlClassLoader.getURLs())
-				.filter(entry -> entry.getProtocol().equals("file"))
-				.map(entry -> new File(entry.getFile()))
+			Arrays.stream(urlClassLoader.getURLs())
+				.map(NestedArchive::fromUrl)
+				.filter(Optional::isPresent)
+				.map(Optional::get)
 				.filter(file -> !entries.containsKey(file))
 				.forEach(file -> entries.put(file, classLoader));
 		}
+		else if(classLoader == ClassLoader.getSystemClassLoader()) {
+			ModuleSupport.getModulePath().forEach(entries::putIfAbsent);
+			
+			Arrays.stream(System.getProperty("java.class.path", "").split(File.pathSeparator))
+				.filter(path -> !path.isEmpty())
+				.map(File::new)
+				.forEach(file -> entries.putIfAbsent(file, classLoader));
+		}
 		
 		return entries;
 	}
 	
 	/**
-	 * @param jarFile  The JAR file from which we wish to load the class path content.
-	 * @param manifest The Manifest of the provided JAR file.
+	 * @param file               A class path element referenced by a listed element: an element of its Manifest file's
+	 *                           class path, or one of its nested elements.
+	 * @param classLoader        The {@link ClassLoader} of the listed element.
+	 * @param entries            The class path elements of the scanned {@link ClassLoader} and of its parents.
+	 * @param scannedClassLoader The scanned {@link ClassLoader}.
+	 * @param options            The configuration of the scan.
 	 *
-	 * @return A new {@link Set<File>} containing
+	 * @return The {@link ClassLoader} the referenced element is attached to, or {@link Optional#empty()} if it is a
+	 * nested element that cannot be loaded by any of them.
+	 *
+	 * @see #nestedJars()
 	 */
-	private Set<File> getClassPathFromManifest(final File jarFile, final Manifest manifest) {
-		final String classPath;
-		
-		if(manifest == null || (classPath = manifest.getMainAttributes().getValue(CLASS_PATH.toString())) == null)
-			return new HashSet<>();
-		
-		return stream(classPath.split(" "))
-			.filter(path -> !path.isEmpty())
-			.map(path -> getClassPathEntry(jarFile, path))
-			.filter(Optional::isPresent)
-			.map(Optional::get)
-			.filter(url -> url.getProtocol().equals("file"))
-			.map(url -> new File(url.getFile()))
-			.collect(Collectors.toSet());
+	static Optional<ClassLoader> getClassLoader(final File file, final ClassLoader classLoader, final Map<File, ClassLoader> entries, final ClassLoader scannedClassLoader, final ScanOptions options) {
+		if(!NestedArchive.isNested(file))
+			return Optional.of(classLoader);
+		if(entries.containsKey(file))
+			return Optional.of(entries.get(file));
+		
+		final Optional<String> resourceName;
+		
+		try {
+			resourceName = NestedArchive.getFirstResourceName(file, options.getEnclosingArchive(NestedArchive.getArchive(file)));
+		}
+		catch(final IOException e) {
+			/* The failure is reported by the listing of the element */
+			return Optional.of(classLoader);
+		}
+		
+		if(!resourceName.isPresent())
+			return Optional.of(classLoader);
+		
+		return Stream.of(classLoader, scannedClassLoader)
+			.filter(candidate -> NestedArchive.isLoadedBy(candidate, file, resourceName.get()))
+			.findFirst();
 	}
 	
 	/**
-	 * @param file The JAR file referencing the provided {@code path} in its class path.
-	 * @param path The path to a specific class path entry.
-	 *
-	 * @return A new {@link URL} object to the provided class path entry,
-	 * or {@code null} if a {@link MalformedURLException} is thrown.
+	 * Depth-first walk of the class path, listing one element at a time: the elements referenced by the Manifest file of
+	 * a JAR are visited before the JAR's own resources are delivered, just like {@link Scan#scan(File, ClassLoader)}.
 	 */
-	private Optional<URL> getClassPathEntry(final File file, final String path) {
-		try {
-			return Optional.of(new URL(file.toURI().toURL(), path));
+	private static final class ResourceSpliterator extends Spliterators.AbstractSpliterator<ResourceMetadata> {
+		
+		private final ClassLoader classLoader;
+		private final Map<File, ClassLoader> entries;
+		private final ScanOptions options;
+		private final Deque<Frame> stack;
+		private final Set<File> visitedFiles;
+		
+		private Iterator<String> resourceNames;
+		private ClassLoader resourceClassLoader;
+		private ResourceOrigin resourceOrigin;
+		
+		private ResourceSpliterator(final ClassLoader classLoader, final Map<File, ClassLoader> entries, final ScanOptions options) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			
+			this.classLoader = classLoader;
+			this.entries = entries;
+			this.options = options;
+			this.stack = new ArrayDeque<>();
+			this.visitedFiles = new HashSet<>();
+			this.resourceNames = Collections.emptyIterator();
+			
+			push(entries.keySet(), file -> Optional.of(entries.get(file)));
+		}
+		
+		@Override
+		public boolean tryAdvance(final Consumer<? super ResourceMetadata> action) {
+			while(!resourceNames.hasNext()) {
+				if(stack.isEmpty())
+					return false;
+				
+				final Frame frame = stack.pop();
+				
+				if(frame.entry != null) {
+					resourceNames = frame.entry.getResources().iterator();
+					resourceClassLoader = frame.entry.getClassLoader();
+					resourceOrigin = frame.entry.getOrigin();
+				}
+				else if(visitedFiles.add(frame.file)) {
+					frame.entry = ClassPathEntry.list(frame.file, frame.classLoader, options);
+					
+					if(options.isFailOnError())
+						frame.entry.requireReadable();
+					
+					stack.push(frame);
+					push(frame.entry.getClassPath(), file -> getClassLoader(file, frame.classLoader, entries, classLoader, options));
+				}
+			}
+			
+			action.accept(ResourceMetadata.create(resourceNames.next(), resourceClassLoader, resourceOrigin));
+			return true;
 		}
-		catch(final MalformedURLException e) {
-			return Optional.empty();
+		
+		/**
+		 * Push the provided files so that they are visited in their iteration order, skipping the ones without a
+		 * {@link ClassLoader}.
+		 */
+		private void push(final Collection<File> files, final Function<File, Optional<ClassLoader>> classLoaders) {
+			final List<File> reversed = new ArrayList<>(files);
+			
+			Collections.reverse(reversed);
+			reversed.forEach(file -> classLoaders.apply(file).ifPresent(classLoader -> stack.push(new Frame(file, classLoader))));
 		}
 	}
 	
 	/**
-	 * Add a new resource to the scanner's resources set by attaching it to the provided {@link ClassLoader}.
-	 * If the provided {@link ClassLoader} is not present, a new set is created and attached to it.
-	 *
-	 * @param classLoader  The {@link ClassLoader} object to which the new resource is attached.
-	 * @param resourceName The complete name of the new resource.
-	 *
-	 * @return {@code true} if the resource could be added to the resources set; {@code false} otherwise.
+	 * State of a single full scan: the class path elements already merged and the resources found so far, by
+	 * {@link ClassLoader}. It is never shared with another scan.
+	 */
+	private static final class Scan {
+		
+		private final ClassLoader classLoader;
+		private final Map<File, ClassLoader> entries;
+		private final ScanOptions options;
+		private final Executor executor;
+		private final Map<File, Listing> listings;
+		private final Set<File> scannedFiles;
+		private final Map<ClassLoader, Map<String, ResourceOrigin>> resources;
+		
+		private Scan(final ClassLoader classLoader, final Map<File, ClassLoader> entries, final ScanOptions options, final Executor executor) {
+			this.classLoader = classLoader;
+			this.entries = entries;
+			this.options = options;
+			this.executor = executor;
+			this.listings = new HashMap<>();
+			this.scannedFiles = new HashSet<>();
+			this.resources = new LinkedHashMap<>();
+		}
+		
+		/**
+		 * Run a full scan of the class path elements.
+		 * <p>
+		 * When an {@link #executor} is configured, every class path element is listed concurrently beforehand; the
+		 * listings are then merged in the class path order so that the result is identical to a sequential scan. A
+		 * listing that no task of the executor has started yet is run by the merging thread itself, so the scan completes
+		 * even on a saturated executor or when it is itself running on that executor.
+		 *
+		 * @return An unmodifiable {@link Set} of the scanned resources.
+		 */
+		private Set<ResourceMetadata> run() {
+			if(executor != null) {
+				entries.forEach((file, classLoader) -> {
+					final Listing listing = new Listing(file, classLoader, options);
+					
+					listings.put(file, listing);
+					
+					try {
+						executor.execute(listing::run);
+					}
+					catch(final RejectedExecutionException e) { /* The listing is run by the merging thread */ }
+				});
+			}
+			
+			entries.forEach(this::scan);
+			
+			final Set<ResourceMetadata> set = new LinkedHashSet<>();
+			
+			resources.forEach((classLoader, names) ->
+				names.forEach((res, origin) -> set.add(ResourceMetadata.create(res, classLoader, origin)))
+			);
+			
+			return Collections.unmodifiableSet(set);
+		}
+		
+		/**
+		 * Merge the listing of the provided file into the scan's resources, after the class path elements referenced
+		 * by its Manifest file.
+		 *
+		 * @param file        The class path element to scan.
+		 * @param classLoader The {@link ClassLoader} the provided element is attached to.
+		 */
+		private void scan(final File file, final ClassLoader classLoader) {
+			// If the current file has already been scanned, abort this method call.
+			if(!scannedFiles.add(file))
+				return;
+			
+			final ClassPathEntry entry = getListing(file, classLoader);
+			
+			if(options.isFailOnError())
+				entry.requireReadable();
+			
+			entry.getClassPath().forEach(classPathEntry ->
+				getClassLoader(classPathEntry, classLoader, entries, this.classLoader, options).ifPresent(entryClassLoader -> scan(classPathEntry, entryClassLoader))
+			);
+			entry.getResources().forEach(resourceName -> addResource(classLoader, resourceName, entry.getOrigin()));
+		}
+		
+		/**
+		 * @param file        The class path element to list.
+		 * @param classLoader The {@link ClassLoader} the provided element is attached to.
+		 *
+		 * @return The concurrent listing of the provided file if it was computed for the same {@link ClassLoader};
+		 * otherwise a listing computed on the calling thread.
+		 */
+		private ClassPathEntry getListing(final File file, final ClassLoader classLoader) {
+			final Listing listing = listings.get(file);
+			
+			if(listing != null) {
+				final ClassPathEntry entry = listing.get();
+				
+				if(entry.getClassLoader() == classLoader)
+					return entry;
+			}
+			
+			return ClassPathEntry.list(file, classLoader, options);
+		}
+		
+		/**
+		 * Add a new resource to the scan's resources set by attaching it to the provided {@link ClassLoader}.
+		 * If the provided {@link ClassLoader} is not present, a new map is created and attached to it. A resource already
+		 * found in a previous class path element keeps the origin of that element.
+		 *
+		 * @param classLoader  The {@link ClassLoader} object to which the new resource is attached.
+		 * @param resourceName The complete name of the new resource.
+		 * @param origin       The origin of the class path element the resource was found in.
+		 */
+		private void addResource(final ClassLoader classLoader, final String resourceName, final ResourceOrigin origin) {
+			if(!resources.containsKey(classLoader))
+				resources.put(classLoader, new LinkedHashMap<>());
+			
+			resources.get(classLoader).putIfAbsent(resourceName, origin);
+		}
+	}
+	
+	/**
+	 * Listing of a class path element submitted to the executor of a {@link Scan}. It is run once, either by a task of
+	 * the executor or by the merging thread if no task has started it when its result is needed.
 	 */
-	private boolean addResource(final ClassLoader classLoader, final String resourceName) {
-		if(!resources.containsKey(classLoader))
-			resources.put(classLoader, new LinkedHashSet<>());
+	private static final class Listing {
 		
-		return resources.get(classLoader).add(resourceName);
+		private final File file;
+		private final ClassLoader classLoader;
+		private final ScanOptions options;
+		private final AtomicBoolean started;
+		private final CompletableFuture<ClassPathEntry> result;
+		
+		private Listing(final File file, final ClassLoader classLoader, final ScanOptions options) {
+			this.file = file;
+			this.classLoader = classLoader;
+			this.options = options;
+			this.started = new AtomicBoolean();
+			this.result = new CompletableFuture<>();
+		}
+		
+		private void run() {
+			if(!started.compareAndSet(false, true))
+				return;
+			
+			try {
+				result.complete(ClassPathEntry.list(file, classLoader, options));
+			}
+			catch(final RuntimeException | Error e) {
+				result.completeExceptionally(e);
+			}
+		}
+		
+		/**
+		 * @return The listing of the element, computed on the calling thread if it has not been started yet, or waited
+		 * for if a task of the executor is computing it.
+		 */
+		private ClassPathEntry get() {
+			run();
+			return join(result);
+		}
+	}
+	
+	/**
+	 * A class path element to visit, and its listing once it has been visited.
+	 */
+	private static final class Frame {
+		
+		private final File file;
+		private final ClassLoader classLoader;
+		private ClassPathEntry entry;
+		
+		private Frame(final File file, final ClassLoader classLoader) {
+			this.file = file;
+			this.classLoader = classLoader;
+		}
 	}
 }
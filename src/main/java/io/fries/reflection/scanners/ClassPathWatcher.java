@@ -0,0 +1,349 @@
+package io.fries.reflection.scanners;
+
+import io.fries.reflection.metadata.ResourceMetadata;
+import io.fries.reflection.metadata.ResourceOrigin;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * Keep the resources of a {@link ClassPathScanner}'s class path up to date, by watching its directories with a
+ * {@link WatchService}.
+ * <p>
+ * The class path is fully scanned once, when the watcher is created. Afterwards, each file created, modified or deleted
+ * in one of its directories is applied as a delta to the scanned resources, and a new immutable snapshot is published.
+ * The JAR files are never rescanned.
+ * <p>
+ * All the updates are applied by a single daemon thread; {@link #getResources()} only reads the latest published
+ * snapshot and never blocks. A new snapshot is only published when an event changed or modified a scanned resource. A
+ * failure while applying an event or in a listener is reported to the scanner's {@link ScanListener}, if any, and the
+ * watcher keeps going. The watcher must be {@link #close() closed} to release its thread and its {@link WatchService}.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ClassPathWatcher implements Scanner, AutoCloseable {
+	
+	private final ScanOptions options;
+	private final List<WatchedEntry> entries;
+	private final Map<WatchKey, Path> watchedDirectories;
+	private final WatchService watchService;
+	
+	private final AtomicReference<Set<ResourceMetadata>> snapshot;
+	private final List<Consumer<Set<ResourceMetadata>>> listeners;
+	private final Thread thread;
+	
+	/**
+	 * Scan the class path of the provided scanner, then start watching its directories.
+	 *
+	 * @param scanner The {@link ClassPathScanner} whose class path and filters are used.
+	 *
+	 * @throws IOException If the file system does not support watching directories.
+	 */
+	ClassPathWatcher(final ClassPathScanner scanner) throws IOException {
+		this.options = scanner.getOptions();
+		this.entries = new ArrayList<>();
+		this.watchedDirectories = new HashMap<>();
+		this.watchService = FileSystems.getDefault().newWatchService();
+		
+		this.snapshot = new AtomicReference<>();
+		this.listeners = new CopyOnWriteArrayList<>();
+		
+		final Set<File> visitedFiles = new HashSet<>();
+		final Map<File, ClassLoader> classPathEntries = scanner.getClassPathEntries();
+		classPathEntries.forEach((file, classLoader) -> scan(file, classLoader, classPathEntries, scanner.getClassLoader(), visitedFiles));
+		
+		this.snapshot.set(buildSnapshot());
+		
+		this.thread = new Thread(this::watch, "reflection-class-path-watcher");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+	
+	/**
+	 * @param scanner The {@link ClassPathScanner} whose class path and filters are used.
+	 *
+	 * @return A new {@link ClassPathWatcher} instance.
+	 *
+	 * @throws IOException If the file system does not support watching directories.
+	 */
+	public static ClassPathWatcher of(final ClassPathScanner scanner) throws IOException {
+		if(scanner == null)
+			throw new IllegalArgumentException("Scanner cannot be null");
+		
+		return new ClassPathWatcher(scanner);
+	}
+	
+	/**
+	 * @param listener A {@link Consumer} called with each new snapshot of the resources, from the watcher's thread.
+	 *
+	 * @return This {@link ClassPathWatcher} instance.
+	 */
+	public ClassPathWatcher onUpdate(final Consumer<Set<ResourceMetadata>> listener) {
+		if(listener == null)
+			throw new IllegalArgumentException("Listener cannot be null");
+		
+		listeners.add(listener);
+		return this;
+	}
+	
+	/**
+	 * @return The latest immutable snapshot of the class path resources.
+	 */
+	@Override
+	public Set<ResourceMetadata> getResources() {
+		return snapshot.get();
+	}
+	
+	/**
+	 * Stop watching the class path. The last published snapshot remains available.
+	 *
+	 * @throws IOException If the {@link WatchService} cannot be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		watchService.close();
+		thread.interrupt();
+	}
+	
+	/**
+	 * Depth-first scan of the class path, in the same order as {@link ClassPathScanner#getResources()}. Each directory
+	 * is registered before being listed, so that the files created while it is listed are not missed.
+	 */
+	private void scan(final File file, final ClassLoader classLoader, final Map<File, ClassLoader> classPathEntries, final ClassLoader scannedClassLoader, final Set<File> visitedFiles) {
+		if(!visitedFiles.add(file))
+			return;
+		
+		final Path root = file.isDirectory() ? file.toPath() : null;
+		
+		if(root != null)
+			register(root);
+		
+		final ClassPathEntry entry = ClassPathEntry.list(file, classLoader, options);
+		
+		entry.getClassPath().forEach(classPathEntry ->
+			ClassPathScanner.getClassLoader(classPathEntry, classLoader, classPathEntries, scannedClassLoader, options)
+				.ifPresent(entryClassLoader -> scan(classPathEntry, entryClassLoader, classPathEntries, scannedClassLoader, visitedFiles))
+		);
+		entries.add(new WatchedEntry(root, classLoader, entry.getOrigin(), entry.getResources()));
+	}
+	
+	/**
+	 * Register the provided directory and all its subdirectories to the {@link #watchService}.
+	 */
+	private void register(final Path directory) {
+		try {
+			Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+					watchedDirectories.put(dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), dir);
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		}
+		catch(final IOException | SecurityException e) { /* The directory cannot be watched */ }
+	}
+	
+	/**
+	 * Apply the file system events to the watched entries until the watcher is closed.
+	 */
+	private void watch() {
+		try {
+			while(true) {
+				final WatchKey key = watchService.take();
+				final Path directory = watchedDirectories.get(key);
+				
+				try {
+					if(directory != null)
+						apply(directory, key);
+				}
+				catch(final RuntimeException e) {
+					report(directory, e);
+				}
+				finally {
+					if(!key.reset())
+						watchedDirectories.remove(key);
+				}
+			}
+		}
+		catch(final InterruptedException | ClosedWatchServiceException e) { /* The watcher has been closed */ }
+	}
+	
+	/**
+	 * Apply the pending events of the provided key, then publish a new snapshot if one of them changed a resource. An
+	 * event that cannot be applied is reported and does not prevent the following ones from being applied.
+	 */
+	private void apply(final Path directory, final WatchKey key) {
+		boolean changed = false;
+		
+		for(WatchEvent<?> event : key.pollEvents()) {
+			try {
+				changed |= apply(directory, event);
+			}
+			catch(final RuntimeException e) {
+				report(directory, e);
+			}
+		}
+		
+		if(changed)
+			publish(directory);
+	}
+	
+	/**
+	 * @return {@code true} if the event changed or modified a resource of the watched entries; {@code false} otherwise.
+	 */
+	private boolean apply(final Path directory, final WatchEvent<?> event) {
+		final WatchedEntry entry = getEntry(directory);
+		
+		if(entry == null)
+			return false;
+		
+		if(event.kind() == OVERFLOW) {
+			register(entry.root);
+			entry.rescan(options.getFilters());
+			return true;
+		}
+		
+		final Path path = directory.resolve((Path) event.context());
+		
+		if(event.kind() == ENTRY_DELETE)
+			return entry.remove(path);
+		
+		if(Files.isDirectory(path)) {
+			register(path);
+			return entry.addAll(path, options.getFilters());
+		}
+		
+		return entry.add(path, options.getFilters());
+	}
+	
+	/**
+	 * @return The watched class path entry containing the provided directory.
+	 */
+	private WatchedEntry getEntry(final Path directory) {
+		for(WatchedEntry entry : entries) {
+			if(entry.root != null && directory.startsWith(entry.root))
+				return entry;
+		}
+		
+		return null;
+	}
+	
+	private void publish(final Path directory) {
+		final Set<ResourceMetadata> resources = buildSnapshot();
+		
+		snapshot.set(resources);
+		
+		for(Consumer<Set<ResourceMetadata>> listener : listeners) {
+			try {
+				listener.accept(resources);
+			}
+			catch(final RuntimeException e) {
+				report(directory, e);
+			}
+		}
+	}
+	
+	/**
+	 * Report a failure of the watcher's thread to the scanner's {@link ScanListener}, if any.
+	 */
+	private void report(final Path directory, final RuntimeException exception) {
+		final ScanListener listener = options.getListener();
+		
+		if(listener != null)
+			listener.onError(directory.toFile(), exception);
+	}
+	
+	private Set<ResourceMetadata> buildSnapshot() {
+		final Set<ResourceMetadata> resources = new LinkedHashSet<>();
+		
+		for(WatchedEntry entry : entries)
+			entry.resources.forEach(resourceName -> resources.add(ResourceMetadata.create(resourceName, entry.classLoader, entry.origin)));
+		
+		return unmodifiableSet(resources);
+	}
+	
+	/**
+	 * The resources of a single class path element. Only the directories ({@link #root} not {@code null}) are updated.
+	 */
+	private static final class WatchedEntry {
+		
+		private final Path root;
+		private final ClassLoader classLoader;
+		private final ResourceOrigin origin;
+		private final Set<String> resources;
+		
+		private WatchedEntry(final Path root, final ClassLoader classLoader, final ResourceOrigin origin, final Collection<String> resources) {
+			this.root = root;
+			this.classLoader = classLoader;
+			this.origin = origin;
+			this.resources = new LinkedHashSet<>(resources);
+		}
+		
+		private String getResourceName(final Path path) {
+			return root.relativize(path).toString().replace(File.separatorChar, '/');
+		}
+		
+		/**
+		 * @return {@code true} if the file is an accepted resource, created or modified, or if it was one and has been
+		 * removed; {@code false} otherwise.
+		 */
+		private boolean add(final Path path, final FilterChain filters) {
+			final String resourceName = getResourceName(path);
+			
+			if(Files.isRegularFile(path) && filters.accept(classLoader, resourceName, () -> new FileInputStream(path.toFile()))) {
+				resources.add(resourceName);
+				return true;
+			}
+			
+			return resources.remove(resourceName);
+		}
+		
+		/**
+		 * @return {@code true} if one of the files of the directory changed the resources; {@code false} otherwise.
+		 */
+		private boolean addAll(final Path directory, final FilterChain filters) {
+			final boolean[] changed = {false};
+			
+			try {
+				Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+					@Override
+					public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+						changed[0] |= add(file, filters);
+						return FileVisitResult.CONTINUE;
+					}
+				});
+			}
+			catch(final IOException | SecurityException e) { /* The directory cannot be read anymore */ }
+			
+			return changed[0];
+		}
+		
+		/**
+		 * Remove the resource at the provided path, or all the resources below it if it was a directory.
+		 *
+		 * @return {@code true} if a resource was removed; {@code false} otherwise.
+		 */
+		private boolean remove(final Path path) {
+			final String resourceName = getResourceName(path);
+			final String directoryPrefix = resourceName + '/';
+			
+			return resources.removeIf(name -> name.equals(resourceName) || name.startsWith(directoryPrefix));
+		}
+		
+		private void rescan(final FilterChain filters) {
+			resources.clear();
+			addAll(root, filters);
+		}
+	}
+}
@@ -0,0 +1,379 @@
+package io.fries.reflection.scanners;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Listing of the resources of a class path directory, in the same depth-first order as the directory's own listing.
+ * <p>
+ * The directories are read with {@link Files#walkFileTree(Path, Set, int, FileVisitor)}, which hands out the attributes
+ * of each entry along with it: on the file systems that return them while reading the directory, no other call is
+ * made for an entry that is not read by a filter. The resource names are built in a reusable buffer, the symbolic
+ * links are followed, and the directories rejected by {@link FilterChain#acceptsPackage(String)} are not read at all.
+ * <p>
+ * When an {@link Executor} is provided, the subdirectories are read concurrently by the calling thread and by helper
+ * tasks of the executor. The calling thread never waits for a task that has not started, so the walk cannot be starved
+ * by a busy executor, even when it is itself running on that executor. When the filters are measured, each thread
+ * uses its own measured copy of them, merged into the provided chain once the directory has been walked.
+ * <p>
+ * The entries that cannot be read are skipped and their failures are reported, except for the symbolic links to one of
+ * their own parent directories.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class DirectoryWalker {
+	
+	private static final int MAX_HELPERS = Runtime.getRuntime().availableProcessors();
+	private static final Set<FileVisitOption> OPTIONS = EnumSet.of(FileVisitOption.FOLLOW_LINKS);
+	
+	private final ClassLoader classLoader;
+	private final FilterChain filters;
+	private final Executor executor;
+	private final Consumer<Exception> errors;
+	
+	private final Queue<Node> pendingNodes;
+	private final List<FilterChain> measuredFilters;
+	private int remainingNodes;
+	private int helpers;
+	private RuntimeException failure;
+	
+	private DirectoryWalker(final ClassLoader classLoader, final FilterChain filters, final Executor executor, final Consumer<Exception> errors) {
+		this.classLoader = classLoader;
+		this.filters = filters;
+		this.executor = executor;
+		this.errors = errors;
+		
+		this.pendingNodes = new ConcurrentLinkedQueue<>();
+		this.measuredFilters = new ArrayList<>();
+		this.remainingNodes = 0;
+		this.helpers = 0;
+		this.failure = null;
+	}
+	
+	/**
+	 * List the resources of the provided directory and apply the {@code filters} to each of them.
+	 *
+	 * @param dir         The directory to list.
+	 * @param classLoader The {@link ClassLoader} the directory is attached to.
+	 * @param filters     The compiled {@link io.fries.reflection.filters.Filter}s every listed resource must match.
+	 * @param executor    The {@link Executor} reading the subdirectories concurrently, or {@code null} to read them on
+	 *                    the calling thread only.
+	 * @param resources   The list receiving the accepted resource names.
+	 * @param errors      The consumer of the failures of the entries that cannot be read, which may be called by several
+	 *                    threads at once when an {@code executor} is provided.
+	 */
+	static void walk(final Path dir, final ClassLoader classLoader, final FilterChain filters, final Executor executor, final List<String> resources, final Consumer<Exception> errors) {
+		final DirectoryWalker walker = new DirectoryWalker(classLoader, filters, executor, errors);
+		
+		if(executor == null)
+			walker.walkSequentially(dir, resources);
+		else {
+			final Node root = new Node(dir, null, "", getKey(dir));
+			
+			walker.walkConcurrently(root);
+			root.collect(resources);
+		}
+	}
+	
+	/**
+	 * Depth-first walk of the directory on the calling thread, building the resource names in a single buffer.
+	 */
+	private void walkSequentially(final Path root, final List<String> resources) {
+		final StringBuilder resourceName = new StringBuilder();
+		final Deque<Integer> prefixLengths = new ArrayDeque<>();
+		
+		try {
+			Files.walkFileTree(root, OPTIONS, Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+					if(dir.equals(root))
+						return FileVisitResult.CONTINUE;
+					
+					final int prefixLength = resourceName.length();
+					resourceName.append(dir.getFileName());
+					
+					if(!filters.acceptsPackage(resourceName.toString().replace('/', '.'))) {
+						resourceName.setLength(prefixLength);
+						return FileVisitResult.SKIP_SUBTREE;
+					}
+					
+					resourceName.append('/');
+					prefixLengths.push(prefixLength);
+					return FileVisitResult.CONTINUE;
+				}
+				
+				@Override
+				public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+					final int prefixLength = resourceName.length();
+					final String name = resourceName.append(file.getFileName()).toString();
+					
+					resourceName.setLength(prefixLength);
+					
+					if(filters.accept(classLoader, name, () -> Files.newInputStream(file)))
+						resources.add(name);
+					
+					return FileVisitResult.CONTINUE;
+				}
+				
+				@Override
+				public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+					// The entry cannot be read, or is a link to one of its own parent directories
+					if(!(exc instanceof FileSystemLoopException))
+						errors.accept(exc);
+					
+					return FileVisitResult.CONTINUE;
+				}
+				
+				@Override
+				public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) {
+					if(!dir.equals(root))
+						resourceName.setLength(prefixLengths.pop());
+					
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		}
+		catch(final IOException | SecurityException e) {
+			/* The directory cannot be read */
+			errors.accept(e);
+		}
+	}
+	
+	/**
+	 * Read the directory on the calling thread and on helper tasks, until every accepted subdirectory has been read.
+	 */
+	private void walkConcurrently(final Node root) {
+		final FilterChain threadFilters = getThreadFilters();
+		boolean interrupted = false;
+		
+		synchronized(this) {
+			remainingNodes = 1;
+			pendingNodes.add(root);
+		}
+		
+		while(true) {
+			final Node node = pendingNodes.poll();
+			
+			if(node != null) {
+				read(node, threadFilters);
+				continue;
+			}
+			
+			synchronized(this) {
+				while(remainingNodes > 0 && pendingNodes.isEmpty()) {
+					try {
+						wait();
+					}
+					catch(final InterruptedException e) {
+						interrupted = true;
+					}
+				}
+				
+				if(remainingNodes == 0)
+					break;
+			}
+		}
+		
+		if(interrupted)
+			Thread.currentThread().interrupt();
+		
+		synchronized(this) {
+			measuredFilters.forEach(filters::merge);
+			
+			if(failure != null)
+				throw failure;
+		}
+	}
+	
+	/**
+	 * @return The {@link #filters} for a single thread of the walk: a new measured copy if they are measured, or the
+	 * filters themselves otherwise.
+	 */
+	private FilterChain getThreadFilters() {
+		if(!filters.isMeasured())
+			return filters;
+		
+		final FilterChain threadFilters = filters.measure();
+		
+		synchronized(this) {
+			measuredFilters.add(threadFilters);
+		}
+		
+		return threadFilters;
+	}
+	
+	/**
+	 * Helper task: read the pending directories until there is none left.
+	 */
+	private void help() {
+		try {
+			final FilterChain threadFilters = getThreadFilters();
+			Node node;
+			
+			while((node = pendingNodes.poll()) != null)
+				read(node, threadFilters);
+		}
+		finally {
+			synchronized(this) {
+				helpers--;
+			}
+		}
+	}
+	
+	/**
+	 * Read a single directory: its files accepted by the thread's {@code threadFilters} are recorded in order, and its
+	 * accepted subdirectories are queued.
+	 */
+	private void read(final Node node, final FilterChain threadFilters) {
+		final List<Node> subdirectories = new ArrayList<>();
+		final StringBuilder resourceName = new StringBuilder(node.prefix);
+		
+		try {
+			Files.walkFileTree(node.dir, OPTIONS, 1, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+					resourceName.setLength(node.prefix.length());
+					resourceName.append(file.getFileName());
+					
+					if(attrs.isDirectory()) {
+						final Node child = getChild(node, file, attrs, resourceName.toString());
+						
+						if(child != null) {
+							node.children.add(child);
+							subdirectories.add(child);
+						}
+					}
+					else {
+						final String name = resourceName.toString();
+						
+						if(threadFilters.accept(classLoader, name, () -> Files.newInputStream(file)))
+							node.children.add(name);
+					}
+					
+					return FileVisitResult.CONTINUE;
+				}
+				
+				@Override
+				public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+					// The entry cannot be read
+					errors.accept(exc);
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		}
+		catch(final IOException | SecurityException e) {
+			/* The directory cannot be read */
+			errors.accept(e);
+		}
+		catch(final RuntimeException e) {
+			synchronized(this) {
+				if(failure == null)
+					failure = e;
+			}
+			
+			subdirectories.clear();
+		}
+		finally {
+			complete(subdirectories);
+		}
+	}
+	
+	/**
+	 * Queue the subdirectories of a read directory, and start a new helper task if some are available.
+	 */
+	private void complete(final List<Node> subdirectories) {
+		final boolean startHelper;
+		
+		synchronized(this) {
+			pendingNodes.addAll(subdirectories);
+			remainingNodes += subdirectories.size() - 1;
+			startHelper = subdirectories.size() > 1 && helpers < MAX_HELPERS && failure == null;
+			
+			if(startHelper)
+				helpers++;
+			
+			notifyAll();
+		}
+		
+		if(startHelper) {
+			try {
+				executor.execute(this::help);
+			}
+			catch(final RejectedExecutionException e) {
+				synchronized(this) {
+					helpers--;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @return The node of the provided subdirectory, or {@code null} if its package is rejected by the filters or if
+	 * it is one of its own ancestors, reached through a symbolic link.
+	 */
+	private Node getChild(final Node parent, final Path dir, final BasicFileAttributes attributes, final String resourceName) {
+		if(!filters.acceptsPackage(resourceName.replace('/', '.')))
+			return null;
+		
+		final Object key = attributes.fileKey();
+		
+		for(Node ancestor = parent; key != null && ancestor != null; ancestor = ancestor.parent) {
+			if(key.equals(ancestor.key))
+				return null;
+		}
+		
+		return new Node(dir, parent, resourceName + '/', key);
+	}
+	
+	/**
+	 * @return The file key of the provided directory, or {@code null} if it cannot be read.
+	 */
+	private static Object getKey(final Path dir) {
+		try {
+			return Files.readAttributes(dir, BasicFileAttributes.class).fileKey();
+		}
+		catch(final IOException | SecurityException e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * A directory being walked concurrently. Its children, accepted resource names and subdirectory nodes, are listed in
+	 * the directory order by the single thread reading it.
+	 */
+	private static final class Node {
+		
+		private final Path dir;
+		private final Node parent;
+		private final String prefix;
+		private final Object key;
+		private final List<Object> children;
+		
+		private Node(final Path dir, final Node parent, final String prefix, final Object key) {
+			this.dir = dir;
+			this.parent = parent;
+			this.prefix = prefix;
+			this.key = key;
+			this.children = new ArrayList<>();
+		}
+		
+		/**
+		 * Add the resources of this directory and of its subdirectories, in depth-first order.
+		 */
+		private void collect(final List<String> resources) {
+			for(Object child : children) {
+				if(child instanceof Node)
+					((Node) child).collect(resources);
+				else
+					resources.add((String) child);
+			}
+		}
+	}
+}
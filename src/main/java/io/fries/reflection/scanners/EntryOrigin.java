@@ -0,0 +1,112 @@
+package io.fries.reflection.scanners;
+
+import io.fries.reflection.metadata.ResourceOrigin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+/**
+ * The {@link ResourceOrigin}s of the class path elements listed by a {@link ClassPathEntry}.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class EntryOrigin {
+	
+	private EntryOrigin() {
+	}
+	
+	/**
+	 * @param dir A class path directory.
+	 *
+	 * @return The origin of the resources of the provided directory, read with a single call each.
+	 */
+	static ResourceOrigin ofDirectory(final File dir) {
+		return resourceName -> ByteBuffer.wrap(Files.readAllBytes(new File(dir, resourceName).toPath())).asReadOnlyBuffer();
+	}
+	
+	/**
+	 * @param archive   A JAR file, which may be nested in other archives.
+	 * @param directory The directory of the archive holding the resources, ending with a {@code '/'}, or an empty
+	 *                  {@link String} for the whole archive.
+	 *
+	 * @return The origin of the resources of the provided archive, read from its memory mapped content.
+	 */
+	static ResourceOrigin ofArchive(final File archive, final String directory) {
+		return new ArchiveOrigin(archive, directory);
+	}
+	
+	/**
+	 * @param module A {@code jrt:/<module>} file.
+	 *
+	 * @return The origin of the resources of the provided module of the runtime image, looked up on the first read. A
+	 * reader of the module is opened for each single read, or once for a whole {@link ResourceOrigin.Batch}.
+	 */
+	static ResourceOrigin ofSystemModule(final File module) {
+		return new SystemModuleOrigin(module);
+	}
+	
+	/**
+	 * Resources of an archive, mapped on the first read and shared by all the following ones. The stored entries are
+	 * returned as views of the mapped archive.
+	 */
+	private static final class ArchiveOrigin implements ResourceOrigin {
+		
+		private final File archive;
+		private final String directory;
+		private volatile ZipDirectory zipDirectory;
+		
+		private ArchiveOrigin(final File archive, final String directory) {
+			this.archive = archive;
+			this.directory = directory;
+			this.zipDirectory = null;
+		}
+		
+		@Override
+		public ByteBuffer read(final String resourceName) throws IOException {
+			ZipDirectory zip = zipDirectory;
+			
+			if(zip == null) {
+				zip = ZipDirectory.read(NestedArchive.read(archive));
+				zipDirectory = zip;
+			}
+			
+			return zip.getContent(directory + resourceName).asReadOnlyBuffer();
+		}
+	}
+	
+	/**
+	 * Resources of a module of the runtime image, found on the first read and then opened without being looked up again.
+	 */
+	private static final class SystemModuleOrigin implements ResourceOrigin {
+		
+		private final File module;
+		private volatile SystemModule systemModule;
+		
+		private SystemModuleOrigin(final File module) {
+			this.module = module;
+			this.systemModule = null;
+		}
+		
+		@Override
+		public ByteBuffer read(final String resourceName) throws IOException {
+			try(final ModuleContent content = open()) {
+				return content.read(resourceName);
+			}
+		}
+		
+		@Override
+		public ModuleContent open() throws IOException {
+			SystemModule found = systemModule;
+			
+			if(found == null) {
+				found = ModuleSupport.findSystemModule(module);
+				systemModule = found;
+			}
+			
+			return found.open();
+		}
+	}
+}
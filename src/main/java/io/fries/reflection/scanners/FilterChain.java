@@ -0,0 +1,223 @@
+package io.fries.reflection.scanners;
+
+import io.fries.reflection.filters.Filter;
+import io.fries.reflection.metadata.ResourceContent;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * The {@link Filter}s of a scanner, compiled once per scan into a single predicate.
+ * <p>
+ * The filters are sorted by {@link Filter#getCost() cost}, keeping their registration order when their costs are equal,
+ * so that the filters reading the content of a resource or loading it as a class only see the resources accepted by the
+ * cheaper ones.
+ * <p>
+ * A {@link #measure() measured} copy of the chain also counts the resources accepted and rejected by each filter, the
+ * time spent in each of them and the bytes of content they read. It is meant to be used by a single thread, while a
+ * single class path element is listed: the threads listing the same element each use their own measured copy, which
+ * are then {@link #merge(FilterChain) merged}.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class FilterChain {
+	
+	private final Filter[] filters;
+	
+	private final long[] accepted;
+	private final long[] rejected;
+	private final long[] nanos;
+	private long bytesRead;
+	
+	/**
+	 * @param filters The filters every accepted resource must match.
+	 */
+	FilterChain(final Collection<Filter> filters) {
+		this(filters.stream()
+			.sorted(Comparator.comparing(Filter::getCost))
+			.toArray(Filter[]::new), false);
+	}
+	
+	private FilterChain(final Filter[] filters, final boolean measured) {
+		this.filters = filters;
+		this.accepted = measured ? new long[filters.length] : null;
+		this.rejected = measured ? new long[filters.length] : null;
+		this.nanos = measured ? new long[filters.length] : null;
+		this.bytesRead = 0;
+	}
+	
+	/**
+	 * @return A new {@link FilterChain} made of the same filters, collecting their statistics from zero.
+	 */
+	FilterChain measure() {
+		return new FilterChain(filters, true);
+	}
+	
+	/**
+	 * @return {@code true} if this chain collects the statistics of its filters; {@code false} otherwise.
+	 */
+	boolean isMeasured() {
+		return accepted != null;
+	}
+	
+	/**
+	 * Add the statistics of another measured copy of this chain to the statistics of this measured chain.
+	 *
+	 * @param chain A chain returned by {@link #measure()}, which is no longer used.
+	 */
+	void merge(final FilterChain chain) {
+		for(int i = 0; i < filters.length; i++) {
+			accepted[i] += chain.accepted[i];
+			rejected[i] += chain.rejected[i];
+			nanos[i] += chain.nanos[i];
+		}
+		
+		bytesRead += chain.bytesRead;
+	}
+	
+	/**
+	 * @return {@code true} if the chain accepts every resource; {@code false} otherwise.
+	 */
+	boolean isEmpty() {
+		return filters.length == 0;
+	}
+	
+	/**
+	 * @return {@code true} if the resource matches all the filters; {@code false} otherwise.
+	 */
+	boolean accept(final ClassLoader classLoader, final String resourceName, final ResourceContent content) {
+		if(accepted != null)
+			return acceptMeasured(classLoader, resourceName, content);
+		
+		for(Filter filter : filters) {
+			if(!filter.accept(classLoader, resourceName, content))
+				return false;
+		}
+		
+		return true;
+	}
+	
+	private boolean acceptMeasured(final ClassLoader classLoader, final String resourceName, final ResourceContent content) {
+		final ResourceContent countedContent = () -> new CountingInputStream(content.open());
+		
+		for(int i = 0; i < filters.length; i++) {
+			final long start = System.nanoTime();
+			final boolean accept = filters[i].accept(classLoader, resourceName, countedContent);
+			
+			nanos[i] += System.nanoTime() - start;
+			
+			if(!accept) {
+				rejected[i]++;
+				return false;
+			}
+			
+			accepted[i]++;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * @return {@code true} if the resources of the provided package or of its subpackages may match all the filters;
+	 * {@code false} otherwise.
+	 */
+	boolean acceptsPackage(final String packageName) {
+		for(Filter filter : filters) {
+			if(!filter.acceptsPackage(packageName))
+				return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * @return {@code true} if the resources of the provided package itself may match all the filters; {@code false}
+	 * otherwise.
+	 */
+	boolean acceptsPackageResources(final String packageName) {
+		for(Filter filter : filters) {
+			if(!filter.acceptsPackageResources(packageName))
+				return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Apply only the filters reading the name of the resource ({@link Filter.Cost#NAME}), without measuring them.
+	 *
+	 * @return {@code false} if the resource is rejected by one of these filters; {@code true} if it may match all the
+	 * filters.
+	 */
+	boolean acceptsName(final ClassLoader classLoader, final String resourceName) {
+		for(Filter filter : filters) {
+			if(filter.getCost() != Filter.Cost.NAME)
+				break;
+			if(!filter.accept(classLoader, resourceName))
+				return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Report the statistics of each filter of a measured chain to the provided listener.
+	 *
+	 * @param listener The listener of the scan.
+	 * @param file     The class path element listed with this chain.
+	 */
+	void report(final ScanListener listener, final File file) {
+		for(int i = 0; i < filters.length; i++)
+			listener.onFilterEvaluated(file, filters[i], accepted[i], rejected[i], nanos[i]);
+	}
+	
+	/**
+	 * @return The number of bytes of resource content read by the filters of a measured chain.
+	 */
+	long getBytesRead() {
+		return bytesRead;
+	}
+	
+	/**
+	 * Count the bytes read from the content of a resource into the {@link #bytesRead} attribute.
+	 */
+	private final class CountingInputStream extends FilterInputStream {
+		
+		private CountingInputStream(final InputStream in) {
+			super(in);
+		}
+		
+		@Override
+		public int read() throws IOException {
+			final int b = super.read();
+			
+			if(b != -1)
+				bytesRead++;
+			
+			return b;
+		}
+		
+		@Override
+		public int read(final byte[] b, final int off, final int len) throws IOException {
+			final int count = super.read(b, off, len);
+			
+			if(count > 0)
+				bytesRead += count;
+			
+			return count;
+		}
+		
+		@Override
+		public long skip(final long n) throws IOException {
+			final long skipped = super.skip(n);
+			
+			bytesRead += skipped;
+			return skipped;
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package io.fries.reflection.scanners;
+
+import io.fries.reflection.filters.Filter;
+import io.fries.reflection.metadata.ResourceMetadata;
+
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Build the resources of a {@link ClassLoader}'s classpath from the {@value ReflectionIndex#INDEX_NAME} files embedded
+ * at build time in its directories and JAR files (see {@link ReflectionIndex}).
+ * <p>
+ * The class path elements without such an index are scanned the same way as with a {@link ClassPathScanner}.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class IndexScanner implements Scanner {
+	
+	private final ClassPathScanner scanner;
+	
+	/**
+	 * @param classLoader The base {@link ClassLoader} for which the {@link IndexScanner} has been called.
+	 */
+	private IndexScanner(final ClassLoader classLoader) {
+		this.scanner = ClassPathScanner.of(classLoader).indexed();
+	}
+	
+	/**
+	 * @param classLoader The base {@link ClassLoader} for which the {@link IndexScanner} has been called.
+	 *
+	 * @return A new {@link IndexScanner} instance.
+	 */
+	public static IndexScanner of(final ClassLoader classLoader) {
+		return new IndexScanner(classLoader);
+	}
+	
+	/**
+	 * @param filter A filter to apply on the indexed resources.
+	 *
+	 * @return This {@link IndexScanner} instance.
+	 */
+	public IndexScanner filter(final Filter filter) {
+		scanner.filter(filter);
+		return this;
+	}
+	
+	/**
+	 * @param filterSupplier A {@link Supplier} of any {@link Filter} instance to apply on the indexed resources.
+	 *
+	 * @return This {@link IndexScanner} instance.
+	 */
+	public IndexScanner filter(final Supplier<Filter> filterSupplier) {
+		scanner.filter(filterSupplier);
+		return this;
+	}
+	
+	/**
+	 * @return This {@link IndexScanner} instance.
+	 *
+	 * @see ClassPathScanner#failOnError()
+	 */
+	public IndexScanner failOnError() {
+		scanner.failOnError();
+		return this;
+	}
+	
+	/**
+	 * @return A copy of the scanner's resources set.
+	 */
+	@Override
+	public Set<ResourceMetadata> getResources() {
+		return scanner.getResources();
+	}
+	
+	/**
+	 * @see ClassPathScanner#stream()
+	 */
+	@Override
+	public Stream<ResourceMetadata> stream() {
+		return scanner.stream();
+	}
+}
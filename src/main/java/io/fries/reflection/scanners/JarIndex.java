@@ -0,0 +1,192 @@
+package io.fries.reflection.scanners;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+
+import static java.util.Arrays.stream;
+import static java.util.jar.Attributes.Name.CLASS_PATH;
+
+/**
+ * Unfiltered content of a JAR file: the class path declared in its Manifest file and the names of all its entries that
+ * are neither directories nor the Manifest file itself.
+ * <p>
+ * Being independent from any {@link io.fries.reflection.filters.Filter} and {@link ClassLoader}, a {@link JarIndex}
+ * can be stored by a {@link ScanCache} and reused by any scanner.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class JarIndex {
+	
+	private final Set<File> classPath;
+	private final List<String> resources;
+	private volatile PackageSummary packageSummary;
+	
+	/**
+	 * @param classPath The class path elements referenced by the JAR's Manifest file.
+	 * @param resources The names of the JAR's resources, in the archive order.
+	 */
+	JarIndex(final Set<File> classPath, final List<String> resources) {
+		this.classPath = classPath;
+		this.resources = resources;
+		this.packageSummary = null;
+	}
+	
+	/**
+	 * @param file    The JAR file being indexed.
+	 * @param jarFile The opened JAR file.
+	 *
+	 * @return A new {@link JarIndex} listing the content of the provided JAR file.
+	 *
+	 * @throws IOException If the Manifest file cannot be read.
+	 */
+	static JarIndex read(final File file, final JarFile jarFile) throws IOException {
+		final Set<File> classPath = getClassPathFromManifest(file, jarFile.getManifest());
+		final List<String> resources = jarFile.stream()
+			.filter(entry -> !entry.isDirectory() && !entry.getName().equals(JarFile.MANIFEST_NAME))
+			.map(ZipEntry::getName)
+			.collect(Collectors.toList());
+		
+		return new JarIndex(classPath, resources);
+	}
+	
+	/**
+	 * Read the content of a JAR file from its memory mapped central directory, without opening a {@link JarFile}.
+	 * The Manifest file is only inflated if the JAR contains one.
+	 *
+	 * @param file      The JAR file being indexed.
+	 * @param directory The central directory of the JAR file.
+	 *
+	 * @return A new {@link JarIndex} listing the content of the provided JAR file.
+	 *
+	 * @throws IOException If the Manifest file cannot be read.
+	 */
+	static JarIndex readMapped(final File file, final ZipDirectory directory) throws IOException {
+		return new JarIndex(getClassPathFromManifest(file, readManifest(directory)), directory.getNames());
+	}
+	
+	/**
+	 * @param file    The JAR file being indexed.
+	 * @param jarFile The opened JAR file.
+	 *
+	 * @return A new {@link JarIndex} built from the {@value ReflectionIndex#INDEX_NAME} file embedded in the JAR, or
+	 * {@link Optional#empty()} if the JAR has no such index.
+	 *
+	 * @throws IOException If the Manifest file or the embedded index cannot be read.
+	 */
+	static Optional<JarIndex> readEmbedded(final File file, final JarFile jarFile) throws IOException {
+		final JarEntry indexEntry = jarFile.getJarEntry(ReflectionIndex.INDEX_NAME);
+		
+		if(indexEntry == null)
+			return Optional.empty();
+		
+		try(final InputStream in = jarFile.getInputStream(indexEntry)) {
+			return Optional.of(new JarIndex(getClassPathFromManifest(file, jarFile.getManifest()), ReflectionIndex.read(in)));
+		}
+	}
+	
+	/**
+	 * Read the {@value ReflectionIndex#INDEX_NAME} file embedded in a JAR file from its memory mapped central
+	 * directory, without opening a {@link JarFile}.
+	 *
+	 * @param file      The JAR file being indexed.
+	 * @param directory The central directory of the JAR file.
+	 *
+	 * @return A new {@link JarIndex} built from the index embedded in the JAR, or {@link Optional#empty()} if the JAR has
+	 * no such index.
+	 *
+	 * @throws IOException If the Manifest file or the embedded index cannot be read.
+	 */
+	static Optional<JarIndex> readEmbedded(final File file, final ZipDirectory directory) throws IOException {
+		if(!directory.contains(ReflectionIndex.INDEX_NAME))
+			return Optional.empty();
+		
+		try(final InputStream in = directory.open(ReflectionIndex.INDEX_NAME)) {
+			return Optional.of(new JarIndex(getClassPathFromManifest(file, readManifest(directory)), ReflectionIndex.read(in)));
+		}
+	}
+	
+	/**
+	 * @return The Manifest file of the provided archive, or {@code null} if it has none.
+	 */
+	private static Manifest readManifest(final ZipDirectory directory) throws IOException {
+		try(final InputStream in = directory.readManifest()) {
+			return (in == null) ? null : new Manifest(in);
+		}
+	}
+	
+	/**
+	 * @param jarFile  The JAR file from which we wish to load the class path content.
+	 * @param manifest The Manifest of the provided JAR file.
+	 *
+	 * @return A new {@link Set<File>} containing the local class path entries declared in the Manifest.
+	 */
+	private static Set<File> getClassPathFromManifest(final File jarFile, final Manifest manifest) {
+		final String classPath;
+		
+		if(manifest == null || (classPath = manifest.getMainAttributes().getValue(CLASS_PATH.toString())) == null)
+			return new HashSet<>();
+		
+		return stream(classPath.split(" "))
+			.filter(path -> !path.isEmpty())
+			.map(path -> getClassPathEntry(jarFile, path))
+			.filter(Optional::isPresent)
+			.map(Optional::get)
+			.filter(url -> url.getProtocol().equals("file"))
+			.map(url -> new File(url.getFile()))
+			.collect(Collectors.toSet());
+	}
+	
+	/**
+	 * @param file The JAR file referencing the provided {@code path} in its class path.
+	 * @param path The path to a specific class path entry.
+	 *
+	 * @return A new {@link URL} object to the provided class path entry,
+	 * or {@link Optional#empty()} if a {@link MalformedURLException} is thrown.
+	 */
+	private static Optional<URL> getClassPathEntry(final File file, final String path) {
+		try {
+			return Optional.of(new URL(file.toURI().toURL(), path));
+		}
+		catch(final MalformedURLException e) {
+			return Optional.empty();
+		}
+	}
+	
+	/**
+	 * @return The class path elements referenced by the JAR's Manifest file.
+	 */
+	Set<File> getClassPath() {
+		return classPath;
+	}
+	
+	/**
+	 * @return The names of the JAR's resources, in the archive order.
+	 */
+	List<String> getResources() {
+		return resources;
+	}
+	
+	/**
+	 * @return The {@link PackageSummary} of the JAR's resources, built on the first call.
+	 */
+	PackageSummary getPackageSummary() {
+		PackageSummary summary = packageSummary;
+		
+		if(summary == null) {
+			summary = PackageSummary.of(resources);
+			packageSummary = summary;
+		}
+		
+		return summary;
+	}
+}
@@ -0,0 +1,138 @@
+package io.fries.reflection.scanners;
+
+import io.fries.reflection.filters.Filter;
+import jdk.jfr.*;
+
+import java.io.File;
+
+/**
+ * {@link ScanListener} committing the statistics of a scan as JDK Flight Recorder events, in the {@code Reflection}
+ * category:
+ * <ul>
+ * <li>{@code io.fries.reflection.ClassPathEntry}: the listing time, resources and bytes read of each element,</li>
+ * <li>{@code io.fries.reflection.Filter}: the accepted and rejected resources and the time spent by each filter,</li>
+ * <li>{@code io.fries.reflection.ScanError}: the failures ignored by the scan.</li>
+ * </ul>
+ * The events are only created while a recording enables them. This class requires a JVM shipping the
+ * {@code jdk.jfr} API (JDK 8u262 and later, or JDK 11 and later).
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class JfrScanListener implements ScanListener {
+	
+	private static final String CATEGORY = "Reflection";
+	
+	/**
+	 * @see ScanListener#onEntryListed(File, int, long, long)
+	 */
+	@Override
+	public void onEntryListed(final File file, final int resources, final long bytesRead, final long nanos) {
+		final EntryEvent event = new EntryEvent();
+		
+		if(!event.isEnabled())
+			return;
+		
+		event.file = file.getPath();
+		event.resources = resources;
+		event.bytesRead = bytesRead;
+		event.listingTime = nanos;
+		event.commit();
+	}
+	
+	/**
+	 * @see ScanListener#onFilterEvaluated(File, Filter, long, long, long)
+	 */
+	@Override
+	public void onFilterEvaluated(final File file, final Filter filter, final long accepted, final long rejected, final long nanos) {
+		final FilterEvent event = new FilterEvent();
+		
+		if(!event.isEnabled())
+			return;
+		
+		event.file = file.getPath();
+		event.filter = filter.getClass().getName();
+		event.accepted = accepted;
+		event.rejected = rejected;
+		event.filterTime = nanos;
+		event.commit();
+	}
+	
+	/**
+	 * @see ScanListener#onError(File, Exception)
+	 */
+	@Override
+	public void onError(final File file, final Exception exception) {
+		final ErrorEvent event = new ErrorEvent();
+		
+		if(!event.isEnabled())
+			return;
+		
+		event.file = file.getPath();
+		event.exception = exception.getClass().getName();
+		event.message = exception.getMessage();
+		event.commit();
+	}
+	
+	@Name("io.fries.reflection.ClassPathEntry")
+	@Label("Class Path Entry")
+	@Description("Listing of a class path directory or JAR file")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static final class EntryEvent extends Event {
+		
+		@Label("File")
+		String file;
+		
+		@Label("Resources")
+		int resources;
+		
+		@Label("Bytes Read")
+		@DataAmount
+		long bytesRead;
+		
+		@Label("Listing Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long listingTime;
+	}
+	
+	@Name("io.fries.reflection.Filter")
+	@Label("Filter")
+	@Description("Evaluation of a filter on the resources of a class path entry")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static final class FilterEvent extends Event {
+		
+		@Label("File")
+		String file;
+		
+		@Label("Filter")
+		String filter;
+		
+		@Label("Accepted")
+		long accepted;
+		
+		@Label("Rejected")
+		long rejected;
+		
+		@Label("Filter Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long filterTime;
+	}
+	
+	@Name("io.fries.reflection.ScanError")
+	@Label("Scan Error")
+	@Description("Failure ignored while listing a class path entry")
+	@Category(CATEGORY)
+	static final class ErrorEvent extends Event {
+		
+		@Label("File")
+		String file;
+		
+		@Label("Exception")
+		String exception;
+		
+		@Label("Message")
+		String message;
+	}
+}
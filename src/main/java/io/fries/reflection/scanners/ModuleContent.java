@@ -0,0 +1,48 @@
+package io.fries.reflection.scanners;
+
+import io.fries.reflection.metadata.ResourceOrigin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.stream.Stream;
+
+/**
+ * Opened content of a module of the runtime image, read through {@link ModuleSupport}. It also serves as the
+ * {@link ResourceOrigin.Batch} reading the resources of the module through a single reader.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+interface ModuleContent extends ResourceOrigin.Batch {
+	
+	/**
+	 * @return A lazy {@link Stream} of the names of the module's resources, without its directories nor its
+	 * {@code module-info.class} file.
+	 *
+	 * @throws IOException If the module cannot be read.
+	 */
+	Stream<String> list() throws IOException;
+	
+	/**
+	 * @param resourceName The name of a resource of the module.
+	 *
+	 * @return The content of the resource.
+	 *
+	 * @throws IOException If the resource does not exist or cannot be read.
+	 */
+	InputStream open(final String resourceName) throws IOException;
+	
+	/**
+	 * @param resourceName The name of a resource of the module.
+	 *
+	 * @return A new read-only {@link ByteBuffer} holding the content of the resource.
+	 *
+	 * @throws IOException If the resource does not exist or cannot be read.
+	 */
+	@Override
+	ByteBuffer read(final String resourceName) throws IOException;
+	
+	@Override
+	void close() throws IOException;
+}
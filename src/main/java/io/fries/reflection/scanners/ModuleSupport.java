@@ -0,0 +1,73 @@
+package io.fries.reflection.scanners;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Access to the Java Platform Module System, which is not available before Java 9.
+ * <p>
+ * This implementation is used by Java 8, where there is neither a module path nor a {@code jrt:/} runtime image. The
+ * multi-release JAR of the library ships a Java 9 implementation in {@code META-INF/versions/9}.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class ModuleSupport {
+	
+	/**
+	 * Parent of the {@link File}s standing for the modules of the runtime image, such as {@code jrt:/java.base}.
+	 */
+	static final String SYSTEM_MODULES = "jrt:";
+	
+	private ModuleSupport() {
+	}
+	
+	/**
+	 * @return The JAR files and directories of the modules of the boot layer that were found on the module path, and
+	 * their {@link ClassLoader}.
+	 */
+	static Map<File, ClassLoader> getModulePath() {
+		return Collections.emptyMap();
+	}
+	
+	/**
+	 * @return The modules of the boot layer that belong to the runtime image, as {@code jrt:/<module>} files, and their
+	 * {@link ClassLoader}.
+	 */
+	static Map<File, ClassLoader> getSystemModules() {
+		return Collections.emptyMap();
+	}
+	
+	/**
+	 * @param file A class path element.
+	 *
+	 * @return {@code true} if the provided file stands for a module of the runtime image; {@code false} otherwise.
+	 */
+	static boolean isSystemModule(final File file) {
+		return SYSTEM_MODULES.equals(file.getParent());
+	}
+	
+	/**
+	 * @param file A {@code jrt:/<module>} file.
+	 *
+	 * @return The opened content of the module.
+	 *
+	 * @throws IOException If the module cannot be found or read.
+	 */
+	static ModuleContent openSystemModule(final File file) throws IOException {
+		return findSystemModule(file).open();
+	}
+	
+	/**
+	 * @param file A {@code jrt:/<module>} file.
+	 *
+	 * @return The module of the runtime image, which can then be opened without being looked up again.
+	 *
+	 * @throws IOException If the module cannot be found.
+	 */
+	static SystemModule findSystemModule(final File file) throws IOException {
+		throw new IOException("Modules are not supported before Java 9: " + file);
+	}
+}
@@ -0,0 +1,243 @@
+package io.fries.reflection.scanners;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Class path elements nested in a JAR file, such as the libraries and classes of an executable ("fat") archive.
+ * <p>
+ * A nested element is identified by a {@link File} made of the path of its enclosing archive and of its entry name,
+ * separated by {@value #SEPARATOR}: {@code app.jar!/BOOT-INF/lib/library.jar} for a JAR file stored in the archive, or
+ * {@code app.jar!/BOOT-INF/classes} for one of its directories. Elements may be nested at any depth.
+ * <p>
+ * The nested JAR files are read in place from the memory mapped enclosing archive; the stored ones are neither copied
+ * nor extracted.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class NestedArchive {
+	
+	/**
+	 * Separator between the path of an archive and the name of one of its entries.
+	 */
+	static final String SEPARATOR = "!";
+	
+	private static final String[] CLASSES_DIRECTORIES = {"BOOT-INF/classes/", "WEB-INF/classes/"};
+	private static final String[] LIBRARY_DIRECTORIES = {"BOOT-INF/lib/", "WEB-INF/lib/"};
+	private static final String JAR_EXTENSION = ".jar";
+	
+	private NestedArchive() {
+	}
+	
+	/**
+	 * @param archive   The enclosing archive, which may itself be nested.
+	 * @param entryName The name of a JAR file or of a directory of the archive.
+	 *
+	 * @return The {@link File} standing for the provided entry.
+	 */
+	static File of(final File archive, final String entryName) {
+		return new File(archive.getPath() + SEPARATOR + File.separator + entryName);
+	}
+	
+	/**
+	 * @param url A class path {@link URL}, such as {@code jar:file:/app.jar!/BOOT-INF/lib/library.jar!/}.
+	 *
+	 * @return The class path element designated by the provided {@code file} or {@code jar} URL, or
+	 * {@link Optional#empty()} if it is not a local file.
+	 */
+	static Optional<File> fromUrl(final URL url) {
+		if(url.getProtocol().equals("file"))
+			return Optional.of(new File(url.getFile()));
+		if(!url.getProtocol().equals("jar"))
+			return Optional.empty();
+		
+		final String[] parts = url.getFile().split(SEPARATOR + '/');
+		final URL archiveUrl;
+		
+		try {
+			archiveUrl = new URL(parts[0]);
+		}
+		catch(final MalformedURLException e) {
+			return Optional.empty();
+		}
+		
+		if(!archiveUrl.getProtocol().equals("file"))
+			return Optional.empty();
+		
+		File file = new File(archiveUrl.getFile());
+		
+		for(int i = 1; i < parts.length; i++) {
+			if(!parts[i].isEmpty())
+				file = of(file, parts[i]);
+		}
+		
+		return Optional.of(file);
+	}
+	
+	/**
+	 * @param file A class path element.
+	 *
+	 * @return {@code true} if the provided file stands for an entry of an archive; {@code false} otherwise.
+	 */
+	static boolean isNested(final File file) {
+		return getSeparatorIndex(file) > 0;
+	}
+	
+	/**
+	 * @param file A nested class path element.
+	 *
+	 * @return The archive enclosing the provided element.
+	 */
+	static File getArchive(final File file) {
+		return new File(file.getPath().substring(0, getSeparatorIndex(file)));
+	}
+	
+	/**
+	 * @param file A nested class path element.
+	 *
+	 * @return The name of the provided element's entry in its enclosing archive.
+	 */
+	static String getEntryName(final File file) {
+		return file.getPath().substring(getSeparatorIndex(file) + SEPARATOR.length() + 1).replace(File.separatorChar, '/');
+	}
+	
+	private static int getSeparatorIndex(final File file) {
+		return file.getPath().lastIndexOf(SEPARATOR + File.separator);
+	}
+	
+	/**
+	 * @param file A JAR file, or a JAR file nested in other archives.
+	 *
+	 * @return The content of the provided JAR file, mapped from the file system or read in place from its enclosing
+	 * archive.
+	 *
+	 * @throws IOException If the file or one of its enclosing archives cannot be read.
+	 */
+	static ByteBuffer read(final File file) throws IOException {
+		if(file.exists() || !isNested(file))
+			return ZipDirectory.map(file);
+		
+		return ZipDirectory.read(read(getArchive(file))).getContent(getEntryName(file));
+	}
+	
+	/**
+	 * Add the classes directories ({@code BOOT-INF/classes}, {@code WEB-INF/classes}) and the libraries
+	 * ({@code BOOT-INF/lib/*.jar}, {@code WEB-INF/lib/*.jar}) of an executable archive to the provided class path, in
+	 * this order.
+	 *
+	 * @param archive       The archive being listed.
+	 * @param resourceNames The names of the archive's resources.
+	 * @param classPath     The class path receiving the nested elements.
+	 *
+	 * @return The names of the resources that do not belong to one of the nested elements.
+	 */
+	static List<String> expand(final File archive, final List<String> resourceNames, final Set<File> classPath) {
+		final Set<File> classesDirectories = new LinkedHashSet<>();
+		final List<File> libraries = new ArrayList<>();
+		final List<String> remainingNames = new ArrayList<>(resourceNames.size());
+		
+		for(String resourceName : resourceNames) {
+			final String classesDirectory = getDirectory(resourceName, CLASSES_DIRECTORIES);
+			
+			if(classesDirectory != null)
+				classesDirectories.add(of(archive, classesDirectory.substring(0, classesDirectory.length() - 1)));
+			else if(isLibrary(resourceName))
+				libraries.add(of(archive, resourceName));
+			else
+				remainingNames.add(resourceName);
+		}
+		
+		classPath.addAll(classesDirectories);
+		classPath.addAll(libraries);
+		return remainingNames;
+	}
+	
+	private static String getDirectory(final String resourceName, final String[] directories) {
+		for(String directory : directories) {
+			if(resourceName.startsWith(directory))
+				return directory;
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * @param file    A nested class path element.
+	 * @param archive The {@link ZipDirectory} of the element's enclosing archive.
+	 *
+	 * @return The name of the first resource of the provided element, or {@link Optional#empty()} if it has none.
+	 *
+	 * @throws IOException If the nested element cannot be read.
+	 */
+	static Optional<String> getFirstResourceName(final File file, final ZipDirectory archive) throws IOException {
+		final String entryName = getEntryName(file);
+		
+		if(archive.contains(entryName))
+			return ZipDirectory.read(archive.getContent(entryName)).getNames().stream().findFirst();
+		
+		final String directoryPrefix = entryName + '/';
+		
+		return archive.getNames().stream()
+			.filter(name -> name.startsWith(directoryPrefix))
+			.map(name -> name.substring(directoryPrefix.length()))
+			.findFirst();
+	}
+	
+	/**
+	 * @param classLoader  The {@link ClassLoader} looking up the resource.
+	 * @param file         A nested class path element.
+	 * @param resourceName The name of one of the element's resources.
+	 *
+	 * @return {@code true} if the provided {@link ClassLoader} finds the resource in the nested element, meaning that
+	 * it can load the element's resources; {@code false} otherwise.
+	 */
+	static boolean isLoadedBy(final ClassLoader classLoader, final File file, final String resourceName) {
+		final Enumeration<URL> urls;
+		
+		try {
+			urls = classLoader.getResources(resourceName);
+		}
+		catch(final IOException e) {
+			/* The resource cannot be looked up */
+			return false;
+		}
+		
+		while(urls.hasMoreElements()) {
+			if(getElement(urls.nextElement(), resourceName).filter(file::equals).isPresent())
+				return true;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * @return The class path element of a resource's {@link URL}, such as {@code app.jar!/BOOT-INF/classes} for
+	 * {@code jar:file:/app.jar!/BOOT-INF/classes!/com/app/App.class}.
+	 */
+	private static Optional<File> getElement(final URL url, final String resourceName) {
+		final String spec = url.toString();
+		
+		if(!spec.endsWith(resourceName))
+			return Optional.empty();
+		
+		try {
+			return fromUrl(new URL(spec.substring(0, spec.length() - resourceName.length())));
+		}
+		catch(final MalformedURLException e) {
+			return Optional.empty();
+		}
+	}
+	
+	private static boolean isLibrary(final String resourceName) {
+		final String directory = getDirectory(resourceName, LIBRARY_DIRECTORIES);
+		
+		return directory != null
+			&& resourceName.endsWith(JAR_EXTENSION)
+			&& resourceName.indexOf('/', directory.length()) == -1;
+	}
+}
@@ -0,0 +1,84 @@
+package io.fries.reflection.scanners;
+
+import java.util.*;
+
+/**
+ * Compact summary of the packages of a JAR file, used to skip the whole JAR when none of its packages can hold a
+ * resource accepted by the filters of a scan.
+ * <p>
+ * The summary holds the exact set of the JAR's packages and the names of the resources of its root package. Stored
+ * along with a {@link JarIndex} in the {@link SharedScanCache}, it is built once and then checked in time proportional
+ * to the number of packages rather than to the number of resources.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class PackageSummary {
+	
+	private final Set<String> packages;
+	private final List<String> rootResources;
+	
+	private PackageSummary(final Set<String> packages, final List<String> rootResources) {
+		this.packages = packages;
+		this.rootResources = rootResources;
+	}
+	
+	/**
+	 * @param resourceNames The names of the resources of a JAR file.
+	 *
+	 * @return A new {@link PackageSummary} of the provided resources.
+	 */
+	static PackageSummary of(final Collection<String> resourceNames) {
+		final Set<String> packages = new HashSet<>();
+		final List<String> rootResources = new ArrayList<>();
+		String directory = null;
+		
+		for(String resourceName : resourceNames) {
+			final int directoryLength = resourceName.lastIndexOf('/');
+			
+			if(directoryLength == -1)
+				rootResources.add(resourceName);
+			else if(directory == null || directory.length() != directoryLength || !resourceName.startsWith(directory)) {
+				directory = resourceName.substring(0, directoryLength);
+				packages.add(directory.replace('/', '.'));
+			}
+		}
+		
+		return new PackageSummary(packages, rootResources);
+	}
+	
+	/**
+	 * The packages are checked with {@link FilterChain#acceptsPackageResources(String)}: the summary holding every
+	 * package of the JAR, each of them is checked for its own resources only. The root package being an ancestor of
+	 * every package, its resources are instead checked one by one with the filters that only read their name.
+	 *
+	 * @param filters     The filters of the scan.
+	 * @param classLoader The {@link ClassLoader} the JAR file is attached to.
+	 *
+	 * @return {@code false} if no resource of the JAR can be accepted by the filters; {@code true} otherwise.
+	 */
+	boolean mayMatch(final FilterChain filters, final ClassLoader classLoader) {
+		if(filters.isEmpty())
+			return true;
+		
+		for(String packageName : packages) {
+			if(filters.acceptsPackageResources(packageName))
+				return true;
+		}
+		
+		for(String resourceName : rootResources) {
+			if(filters.acceptsName(classLoader, resourceName))
+				return true;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * @return The names of the packages holding at least one resource, using {@code '.'} as a separator. The root
+	 * package is not included.
+	 */
+	Set<String> getPackages() {
+		return packages;
+	}
+}
@@ -0,0 +1,170 @@
+package io.fries.reflection.scanners;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.jar.JarFile;
+
+/**
+ * Build-time index of the resources of a module, embedded in its output as {@value #INDEX_NAME}.
+ * <p>
+ * The index is a UTF-8 text file starting with the {@value #HEADER} line, followed by the name of each resource of the
+ * module, one per line and in lexicographic order. It is meant to be generated once the module is compiled, by running
+ * this class' {@link #main(String[])} method (e.g. from a Gradle {@code JavaExec} task), and read at runtime by the
+ * {@link IndexScanner}.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ReflectionIndex {
+	
+	/**
+	 * Name of the index resource inside a directory or a JAR file.
+	 */
+	public static final String INDEX_NAME = "META-INF/reflection.idx";
+	
+	/**
+	 * First line of every index file, identifying its format version.
+	 */
+	public static final String HEADER = "#reflection-index:1";
+	
+	/**
+	 * Command line option setting the prefix of the resources of the directories that follow it.
+	 */
+	private static final String PREFIX_OPTION = "--prefix=";
+	
+	private ReflectionIndex() {
+	}
+	
+	/**
+	 * Write the index of the provided directories.
+	 * <p>
+	 * Usage: {@code ReflectionIndex <output directory> [[--prefix=<prefix>] <indexed directory>...]}. When no indexed
+	 * directory is provided, the output directory itself is indexed. The resources of the directories following a
+	 * {@code --prefix} option are indexed under that prefix, such as {@code META-INF/versions/9/} for the classes packaged
+	 * in the versioned section of a multi-release JAR.
+	 *
+	 * @param args The output directory, followed by the directories to index and the prefixes of their resources.
+	 *
+	 * @throws IOException If a directory cannot be read or the index cannot be written.
+	 */
+	public static void main(final String[] args) throws IOException {
+		if(args.length == 0)
+			throw new IllegalArgumentException("Usage: ReflectionIndex <output directory> [[--prefix=<prefix>] <indexed directory>...]");
+		
+		final File output = new File(args[0]);
+		final Map<File, String> directories = new LinkedHashMap<>();
+		String prefix = "";
+		
+		for(int i = 1; i < args.length; i++) {
+			if(args[i].startsWith(PREFIX_OPTION))
+				prefix = args[i].substring(PREFIX_OPTION.length());
+			else
+				directories.put(new File(args[i]), prefix);
+		}
+		
+		if(directories.isEmpty())
+			directories.put(output, prefix);
+		
+		write(output, directories);
+	}
+	
+	/**
+	 * Write the {@value #INDEX_NAME} file listing the resources of all the provided directories.
+	 * The directories that do not exist are ignored, and the index file itself and the Manifest files are never listed.
+	 *
+	 * @param output      The directory in which the index is written.
+	 * @param directories The directories whose resources are indexed.
+	 *
+	 * @return The written index file.
+	 *
+	 * @throws IOException If a directory cannot be read or the index cannot be written.
+	 */
+	public static File write(final File output, final List<File> directories) throws IOException {
+		final Map<File, String> unprefixedDirectories = new LinkedHashMap<>();
+		
+		directories.forEach(directory -> unprefixedDirectories.put(directory, ""));
+		return write(output, unprefixedDirectories);
+	}
+	
+	/**
+	 * Write the {@value #INDEX_NAME} file listing the resources of all the provided directories, each of them under its
+	 * own prefix. The directories that do not exist are ignored, and the index file itself and the Manifest files are
+	 * never listed.
+	 *
+	 * @param output      The directory in which the index is written.
+	 * @param directories The directories whose resources are indexed, with the prefix of their resources' names: either
+	 *                    empty, or a path ending with {@code /} such as {@code META-INF/versions/9/}.
+	 *
+	 * @return The written index file.
+	 *
+	 * @throws IOException If a directory cannot be read or the index cannot be written.
+	 */
+	public static File write(final File output, final Map<File, String> directories) throws IOException {
+		final Set<String> resources = new TreeSet<>();
+		
+		for(Map.Entry<File, String> directory : directories.entrySet()) {
+			if(directory.getKey().isDirectory())
+				collect(directory.getKey(), directory.getValue(), resources);
+		}
+		
+		resources.remove(INDEX_NAME);
+		resources.remove(JarFile.MANIFEST_NAME);
+		
+		final File index = new File(output, INDEX_NAME);
+		Files.createDirectories(index.getParentFile().toPath());
+		
+		try(final BufferedWriter writer = Files.newBufferedWriter(index.toPath(), StandardCharsets.UTF_8)) {
+			writer.write(HEADER);
+			writer.write('\n');
+			
+			for(String resourceName : resources) {
+				writer.write(resourceName);
+				writer.write('\n');
+			}
+		}
+		
+		return index;
+	}
+	
+	private static void collect(final File dir, final String packagePrefix, final Set<String> resources) throws IOException {
+		final File[] files = dir.listFiles();
+		
+		if(files == null)
+			throw new IOException("Cannot list directory: " + dir);
+		
+		for(File file : files) {
+			final String resourceName = packagePrefix + file.getName();
+			
+			if(file.isDirectory())
+				collect(file, resourceName + '/', resources);
+			else
+				resources.add(resourceName);
+		}
+	}
+	
+	/**
+	 * @param content The content of an index file, which is not closed by this method.
+	 *
+	 * @return The names of the indexed resources.
+	 *
+	 * @throws IOException If the content cannot be read or is not a supported index.
+	 */
+	static List<String> read(final InputStream content) throws IOException {
+		final BufferedReader reader = new BufferedReader(new InputStreamReader(content, StandardCharsets.UTF_8));
+		
+		if(!HEADER.equals(reader.readLine()))
+			throw new IOException("Unsupported reflection index");
+		
+		final List<String> resources = new ArrayList<>();
+		String resourceName;
+		
+		while((resourceName = reader.readLine()) != null) {
+			if(!resourceName.isEmpty())
+				resources.add(resourceName);
+		}
+		
+		return resources;
+	}
+}
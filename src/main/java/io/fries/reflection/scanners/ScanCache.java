@@ -0,0 +1,132 @@
+package io.fries.reflection.scanners;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Persistent, on-disk store of {@link JarIndex} objects.
+ * <p>
+ * Each JAR file is stored in its own index file, named after the hash of the JAR's absolute path. An index file also
+ * records the size and the last modification time of the JAR: as soon as one of them changes, the index is ignored
+ * and the JAR is scanned again. Any I/O failure is treated as a cache miss.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class ScanCache {
+	
+	private static final int VERSION = 1;
+	private static final String INDEX_EXTENSION = ".idx";
+	
+	private final File directory;
+	
+	/**
+	 * @param directory The directory in which the index files are stored.
+	 */
+	ScanCache(final File directory) {
+		this.directory = directory;
+	}
+	
+	/**
+	 * @param jar The JAR file whose index is requested.
+	 *
+	 * @return The stored {@link JarIndex} of the provided JAR, or {@link Optional#empty()} if there is none or if it is
+	 * outdated.
+	 */
+	Optional<JarIndex> read(final File jar) {
+		final File indexFile = getIndexFile(jar);
+		
+		if(!indexFile.isFile())
+			return Optional.empty();
+		
+		try(final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+			if(in.readInt() != VERSION
+				|| !in.readUTF().equals(jar.getAbsolutePath())
+				|| in.readLong() != jar.length()
+				|| in.readLong() != jar.lastModified())
+				return Optional.empty();
+			
+			final int classPathSize = in.readInt();
+			final Set<File> classPath = new HashSet<>(classPathSize);
+			
+			for(int i = 0; i < classPathSize; i++)
+				classPath.add(new File(in.readUTF()));
+			
+			final int resourcesSize = in.readInt();
+			final List<String> resources = new ArrayList<>(resourcesSize);
+			
+			for(int i = 0; i < resourcesSize; i++)
+				resources.add(in.readUTF());
+			
+			return Optional.of(new JarIndex(classPath, resources));
+		}
+		catch(final IOException | SecurityException e) {
+			return Optional.empty();
+		}
+	}
+	
+	/**
+	 * Store the index of the provided JAR file. The index is first written to a temporary file and then moved to its
+	 * final location, so that concurrent readers never see a partially written index.
+	 *
+	 * @param jar          The indexed JAR file.
+	 * @param length       The size of the JAR file when it was indexed.
+	 * @param lastModified The last modification time of the JAR file when it was indexed.
+	 * @param index        The content of the JAR file.
+	 */
+	void write(final File jar, final long length, final long lastModified, final JarIndex index) {
+		final File indexFile = getIndexFile(jar);
+		File temporaryFile = null;
+		
+		try {
+			Files.createDirectories(directory.toPath());
+			temporaryFile = File.createTempFile(indexFile.getName(), ".tmp", directory);
+			
+			try(final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+				out.writeInt(VERSION);
+				out.writeUTF(jar.getAbsolutePath());
+				out.writeLong(length);
+				out.writeLong(lastModified);
+				
+				out.writeInt(index.getClassPath().size());
+				for(File classPathEntry : index.getClassPath())
+					out.writeUTF(classPathEntry.getPath());
+				
+				out.writeInt(index.getResources().size());
+				for(String resourceName : index.getResources())
+					out.writeUTF(resourceName);
+			}
+			
+			Files.move(temporaryFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch(final IOException | SecurityException e) {
+			if(temporaryFile != null)
+				temporaryFile.delete();
+		}
+	}
+	
+	/**
+	 * @param jar A JAR file.
+	 *
+	 * @return The index file of the provided JAR, named after the SHA-1 hash of its absolute path.
+	 */
+	private File getIndexFile(final File jar) {
+		try {
+			final byte[] hash = MessageDigest.getInstance("SHA-1").digest(jar.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+			final StringBuilder name = new StringBuilder(hash.length * 2 + INDEX_EXTENSION.length());
+			
+			for(byte b : hash)
+				name.append(String.format("%02x", b));
+			
+			return new File(directory, name.append(INDEX_EXTENSION).toString());
+		}
+		catch(final NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-1 is not supported by this JVM", e);
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package io.fries.reflection.scanners;
+
+import java.io.File;
+
+/**
+ * Thrown by the scans of a {@link ClassPathScanner} configured with {@link ClassPathScanner#failOnError()} when a class
+ * path element, or a part of it, cannot be read. The first failure of the element is the cause of the exception, and
+ * the following ones are suppressed by it.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public class ScanException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private final File file;
+	
+	/**
+	 * @param file  The class path element that cannot be read.
+	 * @param cause The failure preventing the element from being read.
+	 */
+	public ScanException(final File file, final Exception cause) {
+		super("Cannot read the class path element " + file, cause);
+		this.file = file;
+	}
+	
+	/**
+	 * @return The directory, JAR file or module that cannot be read.
+	 */
+	public File getFile() {
+		return file;
+	}
+}
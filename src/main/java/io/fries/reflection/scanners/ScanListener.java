@@ -0,0 +1,51 @@
+package io.fries.reflection.scanners;
+
+import io.fries.reflection.filters.Filter;
+
+import java.io.File;
+
+/**
+ * Receive the statistics of a {@link ClassPathScanner}'s scans, one class path element at a time.
+ * <p>
+ * A listener is called once an element has been listed, from the thread that listed it: with
+ * {@link ClassPathScanner#parallel(java.util.concurrent.Executor)}, it may be called from several threads at once.
+ * When no listener is set, no statistic is collected at all.
+ *
+ * @version 1.0
+ * @since 1.0
+ *
+ * @see JfrScanListener
+ */
+public interface ScanListener {
+	
+	/**
+	 * @param file      The listed directory or JAR file.
+	 * @param resources The number of resources accepted by the filters.
+	 * @param bytesRead The number of bytes of resource content read by the filters.
+	 * @param nanos     The time spent listing the element, filters included, in nanoseconds.
+	 */
+	default void onEntryListed(final File file, final int resources, final long bytesRead, final long nanos) {
+	}
+	
+	/**
+	 * Called for each filter once an element has been listed, before {@link #onEntryListed(File, int, long, long)}.
+	 *
+	 * @param file     The listed directory or JAR file.
+	 * @param filter   The evaluated filter.
+	 * @param accepted The number of resources of the element accepted by the filter.
+	 * @param rejected The number of resources of the element rejected by the filter.
+	 * @param nanos    The time spent in the filter, in nanoseconds.
+	 */
+	default void onFilterEvaluated(final File file, final Filter filter, final long accepted, final long rejected, final long nanos) {
+	}
+	
+	/**
+	 * Called when an element, or a part of it, cannot be read. The scan goes on without the unreadable resources, unless
+	 * the scanner was configured with {@link ClassPathScanner#failOnError()}.
+	 *
+	 * @param file      The directory or JAR file being listed.
+	 * @param exception The ignored failure.
+	 */
+	default void onError(final File file, final Exception exception) {
+	}
+}
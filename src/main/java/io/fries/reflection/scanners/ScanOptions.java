@@ -0,0 +1,117 @@
+package io.fries.reflection.scanners;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Configuration of the listing of a class path element, as set on a {@link ClassPathScanner}.
+ * <p>
+ * A new instance is created for each scan, so it also holds the central directories of the archives enclosing nested
+ * elements, read once and shared by all the elements of each archive.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class ScanOptions {
+	
+	private final FilterChain filters;
+	private final ScanCache cache;
+	private final SharedScanCache sharedCache;
+	private final boolean indexed;
+	private final boolean mappedJars;
+	private final boolean nestedJars;
+	private final ScanListener listener;
+	private final Executor executor;
+	private final boolean failOnError;
+	private final Map<File, ZipDirectory> enclosingArchives;
+	
+	/**
+	 * @param filters    The compiled {@link io.fries.reflection.filters.Filter}s every listed resource must match.
+	 * @param cache       The {@link ScanCache} storing the content of the JAR files, or {@code null} if there is none.
+	 * @param sharedCache The {@link SharedScanCache} holding the content of the JAR files in memory, or {@code null} if
+	 *                    it is not used.
+	 * @param indexed    Whether the {@value ReflectionIndex#INDEX_NAME} file embedded in the elements should be used
+	 *                   instead of listing their content.
+	 * @param mappedJars Whether the JAR files should be listed by mapping them in memory instead of using a
+	 *                   {@link java.util.jar.JarFile}.
+	 * @param nestedJars Whether the libraries and classes directories nested in the JAR files should be scanned.
+	 * @param listener   The {@link ScanListener} receiving the statistics of the scan, or {@code null} if there is none.
+	 * @param executor   The {@link Executor} reading the subdirectories of the directories concurrently, or
+	 *                   {@code null} if they are read on the listing thread.
+	 * @param failOnError Whether the scan must fail with a {@link ScanException} when an element cannot be read,
+	 *                    instead of skipping it.
+	 */
+	ScanOptions(final FilterChain filters, final ScanCache cache, final SharedScanCache sharedCache, final boolean indexed, final boolean mappedJars, final boolean nestedJars, final ScanListener listener, final Executor executor, final boolean failOnError) {
+		this.filters = filters;
+		this.cache = cache;
+		this.sharedCache = sharedCache;
+		this.indexed = indexed;
+		this.mappedJars = mappedJars;
+		this.nestedJars = nestedJars;
+		this.listener = listener;
+		this.executor = executor;
+		this.failOnError = failOnError;
+		this.enclosingArchives = new ConcurrentHashMap<>();
+	}
+	
+	FilterChain getFilters() {
+		return filters;
+	}
+	
+	ScanCache getCache() {
+		return cache;
+	}
+	
+	SharedScanCache getSharedCache() {
+		return sharedCache;
+	}
+	
+	boolean isIndexed() {
+		return indexed;
+	}
+	
+	boolean isMappedJars() {
+		return mappedJars;
+	}
+	
+	boolean isNestedJars() {
+		return nestedJars;
+	}
+	
+	ScanListener getListener() {
+		return listener;
+	}
+	
+	Executor getExecutor() {
+		return executor;
+	}
+	
+	boolean isFailOnError() {
+		return failOnError;
+	}
+	
+	/**
+	 * Read the central directory of an archive enclosing nested elements, or reuse the one read by a previous element.
+	 * Concurrent listings of the same archive may each read it, only one of them being kept.
+	 *
+	 * @param archive An archive holding nested JAR files or directories.
+	 *
+	 * @return The {@link ZipDirectory} of the archive, shared by all its nested elements for this scan.
+	 *
+	 * @throws IOException If the archive cannot be read.
+	 */
+	ZipDirectory getEnclosingArchive(final File archive) throws IOException {
+		final ZipDirectory cachedDirectory = enclosingArchives.get(archive);
+		
+		if(cachedDirectory != null)
+			return cachedDirectory;
+		
+		final ZipDirectory directory = ZipDirectory.read(NestedArchive.read(archive));
+		final ZipDirectory previousDirectory = enclosingArchives.putIfAbsent(archive, directory);
+		
+		return (previousDirectory != null) ? previousDirectory : directory;
+	}
+}
@@ -3,7 +3,18 @@ package io.fries.reflection.scanners;
 import io.fries.reflection.metadata.ResourceMetadata;
 
 import java.util.Set;
+import java.util.stream.Stream;
 
 public interface Scanner {
 	Set<ResourceMetadata> getResources();
+	
+	/**
+	 * Deliver the resources as they are found, without waiting for the end of the scan.
+	 * Scanners that cannot produce their resources incrementally default to a stream over {@link #getResources()}.
+	 *
+	 * @return A sequential {@link Stream} of the scanned resources.
+	 */
+	default Stream<ResourceMetadata> stream() {
+		return getResources().stream();
+	}
 }
@@ -0,0 +1,159 @@
+package io.fries.reflection.scanners;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory store of {@link JarIndex} objects, shared by all the scanners of the JVM.
+ * <p>
+ * The JAR files are identified by their canonical path, so that a JAR shared by several {@link ClassLoader}s (or
+ * referenced through different paths) is only listed once. Each index records the size and the last modification time
+ * of its JAR: as soon as one of them changes, the index is discarded.
+ * <p>
+ * The cache is bounded by the total number of resource names it holds, set by the {@value #MAX_RESOURCES_PROPERTY}
+ * system property ({@value #DEFAULT_MAX_RESOURCES} by default). When it is full, the least recently used indexes are
+ * evicted first.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class SharedScanCache {
+	
+	/**
+	 * System property holding the maximum number of resource names held by the {@link #INSTANCE shared cache}.
+	 */
+	static final String MAX_RESOURCES_PROPERTY = "io.fries.reflection.sharedCache.maxResources";
+	
+	/**
+	 * Default maximum number of resource names held by the {@link #INSTANCE shared cache}.
+	 */
+	static final int DEFAULT_MAX_RESOURCES = 200000;
+	
+	/**
+	 * The cache shared by all the scanners of the JVM.
+	 */
+	static final SharedScanCache INSTANCE = new SharedScanCache(Integer.getInteger(MAX_RESOURCES_PROPERTY, DEFAULT_MAX_RESOURCES));
+	
+	private final long maxResources;
+	private final Map<String, CachedIndex> indexes;
+	private long resources;
+	
+	/**
+	 * @param maxResources The maximum number of resource names held by the cache.
+	 */
+	SharedScanCache(final long maxResources) {
+		this.maxResources = maxResources;
+		this.indexes = new LinkedHashMap<>(16, 0.75f, true);
+		this.resources = 0;
+	}
+	
+	/**
+	 * @param jar The JAR file whose index is requested.
+	 *
+	 * @return The cached {@link JarIndex} of the provided JAR, or {@link Optional#empty()} if there is none or if it is
+	 * outdated.
+	 */
+	Optional<JarIndex> read(final File jar) {
+		final String key = getKey(jar);
+		final long length = jar.length();
+		final long lastModified = jar.lastModified();
+		
+		synchronized(this) {
+			final CachedIndex cachedIndex = indexes.get(key);
+			
+			if(cachedIndex == null)
+				return Optional.empty();
+			
+			if(cachedIndex.length != length || cachedIndex.lastModified != lastModified) {
+				remove(key);
+				return Optional.empty();
+			}
+			
+			return Optional.of(cachedIndex.index);
+		}
+	}
+	
+	/**
+	 * Store the index of the provided JAR file, then evict the least recently used indexes until the cache fits its
+	 * bound. An index larger than the bound itself is not stored.
+	 *
+	 * @param jar          The indexed JAR file.
+	 * @param length       The size of the JAR file when it was indexed.
+	 * @param lastModified The last modification time of the JAR file when it was indexed.
+	 * @param index        The content of the JAR file.
+	 */
+	void write(final File jar, final long length, final long lastModified, final JarIndex index) {
+		final String key = getKey(jar);
+		final int size = index.getResources().size();
+		
+		if(size > maxResources)
+			return;
+		
+		synchronized(this) {
+			remove(key);
+			indexes.put(key, new CachedIndex(length, lastModified, index));
+			resources += size;
+			
+			final Iterator<CachedIndex> eldest = indexes.values().iterator();
+			
+			while(resources > maxResources && eldest.hasNext()) {
+				resources -= eldest.next().index.getResources().size();
+				eldest.remove();
+			}
+		}
+	}
+	
+	/**
+	 * Remove all the cached indexes.
+	 */
+	synchronized void clear() {
+		indexes.clear();
+		resources = 0;
+	}
+	
+	/**
+	 * @return The number of cached indexes.
+	 */
+	synchronized int size() {
+		return indexes.size();
+	}
+	
+	private void remove(final String key) {
+		final CachedIndex removedIndex = indexes.remove(key);
+		
+		if(removedIndex != null)
+			resources -= removedIndex.index.getResources().size();
+	}
+	
+	/**
+	 * @return The canonical path of the provided JAR file, or its absolute path if it cannot be resolved.
+	 */
+	private static String getKey(final File jar) {
+		try {
+			return jar.getCanonicalPath();
+		}
+		catch(final IOException | SecurityException e) {
+			return jar.getAbsolutePath();
+		}
+	}
+	
+	/**
+	 * A {@link JarIndex} and the fingerprint of the JAR file it was read from.
+	 */
+	private static final class CachedIndex {
+		
+		private final long length;
+		private final long lastModified;
+		private final JarIndex index;
+		
+		private CachedIndex(final long length, final long lastModified, final JarIndex index) {
+			this.length = length;
+			this.lastModified = lastModified;
+			this.index = index;
+		}
+	}
+}
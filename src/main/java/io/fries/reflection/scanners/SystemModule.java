@@ -0,0 +1,21 @@
+package io.fries.reflection.scanners;
+
+import java.io.IOException;
+
+/**
+ * Module of the runtime image found through {@link ModuleSupport}, which can be opened several times without being
+ * looked up again.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+@FunctionalInterface
+interface SystemModule {
+	
+	/**
+	 * @return The opened content of the module, to be closed by the caller.
+	 *
+	 * @throws IOException If the module cannot be read.
+	 */
+	ModuleContent open() throws IOException;
+}
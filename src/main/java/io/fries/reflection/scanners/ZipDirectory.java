@@ -0,0 +1,407 @@
+package io.fries.reflection.scanners;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.jar.JarFile;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Minimal reader of a ZIP file's central directory, working on a memory mapped copy of the file or on a region of an
+ * enclosing archive.
+ * <p>
+ * Only the entry names are decoded, without creating any {@link java.util.zip.ZipEntry}. The Manifest file is located
+ * while reading the central directory, but its content is only inflated when {@link #readManifest()} is called.
+ * ZIP64 archives are supported; archives larger than 2GB cannot be mapped and must be read with a {@link JarFile}.
+ * <p>
+ * The stored (uncompressed) entries are read in place, as views of the archive's buffer: a JAR file stored in another
+ * one can thus be read without being copied nor extracted. Once read, a directory can be shared between threads.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class ZipDirectory {
+	
+	private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+	private static final int ZIP64_END_OF_CENTRAL_DIRECTORY = 0x06064b50;
+	private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR = 0x07064b50;
+	private static final int CENTRAL_DIRECTORY_HEADER = 0x02014b50;
+	private static final int LOCAL_FILE_HEADER = 0x04034b50;
+	private static final int ZIP64_EXTRA_FIELD = 0x0001;
+	
+	private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+	private static final int ZIP64_LOCATOR_SIZE = 20;
+	private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+	private static final int LOCAL_FILE_HEADER_SIZE = 30;
+	private static final int MAX_COMMENT_SIZE = 0xFFFF;
+	
+	private static final int STORED = 0;
+	private static final int DEFLATED = 8;
+	
+	private static final byte[] MANIFEST_NAME = JarFile.MANIFEST_NAME.getBytes(StandardCharsets.UTF_8);
+	
+	private final ByteBuffer buffer;
+	private final List<String> names;
+	private int[] headers;
+	private volatile Map<String, Integer> headersByName;
+	private int manifestHeader;
+	
+	private ZipDirectory(final ByteBuffer buffer) {
+		this.buffer = buffer;
+		this.names = new ArrayList<>();
+		this.headers = new int[16];
+		this.headersByName = null;
+		this.manifestHeader = -1;
+	}
+	
+	/**
+	 * Map the provided ZIP file and read its central directory.
+	 *
+	 * @param file The ZIP file to read.
+	 *
+	 * @return A new {@link ZipDirectory} instance.
+	 *
+	 * @throws IOException If the file cannot be mapped or is not a valid ZIP file.
+	 */
+	static ZipDirectory read(final File file) throws IOException {
+		return read(map(file));
+	}
+	
+	/**
+	 * Read the central directory of the ZIP file held by the provided buffer, such as the content of an entry of an
+	 * enclosing archive returned by {@link #getContent(String)}.
+	 *
+	 * @param buffer The content of the ZIP file, from its position {@code 0} to its limit.
+	 *
+	 * @return A new {@link ZipDirectory} instance.
+	 *
+	 * @throws IOException If the buffer does not hold a valid ZIP file.
+	 */
+	static ZipDirectory read(final ByteBuffer buffer) throws IOException {
+		final ZipDirectory directory = new ZipDirectory(buffer.order(ByteOrder.LITTLE_ENDIAN));
+		
+		try {
+			directory.readCentralDirectory();
+		}
+		catch(final IndexOutOfBoundsException e) {
+			throw new ZipException("Truncated ZIP file");
+		}
+		
+		return directory;
+	}
+	
+	/**
+	 * @param file The file to map.
+	 *
+	 * @return A read-only, little-endian {@link ByteBuffer} over the whole content of the provided file.
+	 *
+	 * @throws IOException If the file cannot be read or is larger than 2GB.
+	 */
+	static ByteBuffer map(final File file) throws IOException {
+		try(final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+			final FileChannel channel = randomAccessFile.getChannel()) {
+			if(channel.size() > Integer.MAX_VALUE)
+				throw new ZipException("File too large to be mapped: " + file);
+			
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+		}
+	}
+	
+	private void readCentralDirectory() throws IOException {
+		final int end = findEndOfCentralDirectory();
+		
+		long entries = buffer.getShort(end + 10) & 0xFFFF;
+		long offset = buffer.getInt(end + 16) & 0xFFFFFFFFL;
+		
+		if(entries == 0xFFFF || offset == 0xFFFFFFFFL) {
+			final int locator = end - ZIP64_LOCATOR_SIZE;
+			
+			if(locator >= 0 && buffer.getInt(locator) == ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR) {
+				final int zip64End = toPosition(buffer.getLong(locator + 8));
+				
+				if(buffer.getInt(zip64End) != ZIP64_END_OF_CENTRAL_DIRECTORY)
+					throw new ZipException("Invalid ZIP64 end of central directory");
+				
+				entries = buffer.getLong(zip64End + 32);
+				offset = buffer.getLong(zip64End + 48);
+			}
+		}
+		
+		int position = toPosition(offset);
+		byte[] name = new byte[256];
+		
+		for(long i = 0; i < entries; i++) {
+			if(buffer.getInt(position) != CENTRAL_DIRECTORY_HEADER)
+				throw new ZipException("Invalid central directory header");
+			
+			final int nameLength = buffer.getShort(position + 28) & 0xFFFF;
+			final int extraLength = buffer.getShort(position + 30) & 0xFFFF;
+			final int commentLength = buffer.getShort(position + 32) & 0xFFFF;
+			
+			if(nameLength > name.length)
+				name = new byte[nameLength];
+			
+			for(int j = 0; j < nameLength; j++)
+				name[j] = buffer.get(position + CENTRAL_DIRECTORY_HEADER_SIZE + j);
+			
+			if(nameLength > 0 && name[nameLength - 1] != '/') {
+				if(isManifest(name, nameLength))
+					manifestHeader = position;
+				else
+					addEntry(new String(name, 0, nameLength, StandardCharsets.UTF_8), position);
+			}
+			
+			position += CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + extraLength + commentLength;
+		}
+	}
+	
+	private void addEntry(final String name, final int header) {
+		if(names.size() == headers.length)
+			headers = Arrays.copyOf(headers, headers.length * 2);
+		
+		headers[names.size()] = header;
+		names.add(name);
+	}
+	
+	/**
+	 * @return The position of the end of central directory record, searched backward from the end of the file.
+	 */
+	private int findEndOfCentralDirectory() throws ZipException {
+		final int last = buffer.limit() - END_OF_CENTRAL_DIRECTORY_SIZE;
+		final int first = Math.max(0, last - MAX_COMMENT_SIZE);
+		
+		for(int position = last; position >= first; position--) {
+			if(buffer.getInt(position) == END_OF_CENTRAL_DIRECTORY)
+				return position;
+		}
+		
+		throw new ZipException("End of central directory not found");
+	}
+	
+	private int toPosition(final long offset) throws ZipException {
+		if(offset < 0 || offset >= buffer.limit())
+			throw new ZipException("Invalid offset: " + offset);
+		
+		return (int) offset;
+	}
+	
+	private static boolean isManifest(final byte[] name, final int length) {
+		if(length != MANIFEST_NAME.length)
+			return false;
+		
+		for(int i = 0; i < length; i++) {
+			if(name[i] != MANIFEST_NAME[i])
+				return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * @return The names of the entries that are neither directories nor the Manifest file, in the central directory order.
+	 */
+	List<String> getNames() {
+		return names;
+	}
+	
+	/**
+	 * @param name The name of an entry.
+	 *
+	 * @return {@code true} if the archive has an entry with the provided name that is neither a directory nor the
+	 * Manifest file; {@code false} otherwise.
+	 */
+	boolean contains(final String name) {
+		return getHeadersByName().containsKey(name);
+	}
+	
+	/**
+	 * Read the content of the Manifest file, stored or deflated.
+	 *
+	 * @return An {@link InputStream} over the Manifest file, or {@code null} if the archive has none.
+	 *
+	 * @throws IOException If the Manifest file cannot be read.
+	 */
+	InputStream readManifest() throws IOException {
+		if(manifestHeader == -1)
+			return null;
+		
+		return toInputStream(getContent(manifestHeader));
+	}
+	
+	/**
+	 * @param name The name of an entry.
+	 *
+	 * @return An {@link InputStream} over the content of the entry.
+	 *
+	 * @throws IOException If the archive has no such entry or if it cannot be read.
+	 */
+	InputStream open(final String name) throws IOException {
+		return toInputStream(getContent(name));
+	}
+	
+	/**
+	 * @param name The name of an entry.
+	 *
+	 * @return The content of the entry: a view of the archive's buffer if the entry is stored, or a new buffer holding
+	 * its inflated content if it is deflated.
+	 *
+	 * @throws IOException If the archive has no such entry or if it cannot be read.
+	 */
+	ByteBuffer getContent(final String name) throws IOException {
+		final Integer header = getHeadersByName().get(name);
+		
+		if(header == null)
+			throw new ZipException("Entry not found: " + name);
+		
+		return getContent(header);
+	}
+	
+	private Map<String, Integer> getHeadersByName() {
+		Map<String, Integer> map = headersByName;
+		
+		if(map == null) {
+			map = new HashMap<>(names.size() * 4 / 3 + 1);
+			
+			for(int i = 0; i < names.size(); i++)
+				map.put(names.get(i), headers[i]);
+			
+			headersByName = map;
+		}
+		
+		return map;
+	}
+	
+	private ByteBuffer getContent(final int header) throws IOException {
+		final int method = buffer.getShort(header + 10) & 0xFFFF;
+		final long[] values = {
+			buffer.getInt(header + 24) & 0xFFFFFFFFL,
+			buffer.getInt(header + 20) & 0xFFFFFFFFL,
+			buffer.getInt(header + 42) & 0xFFFFFFFFL
+		};
+		
+		readZip64ExtraField(header, values);
+		
+		final long size = values[0];
+		final long compressedSize = values[1];
+		final int localHeader = toPosition(values[2]);
+		
+		if(localHeader + (long) LOCAL_FILE_HEADER_SIZE > buffer.limit())
+			throw new ZipException("Truncated local file header");
+		if(buffer.getInt(localHeader) != LOCAL_FILE_HEADER)
+			throw new ZipException("Invalid local file header");
+		if(compressedSize > Integer.MAX_VALUE || size > Integer.MAX_VALUE)
+			throw new ZipException("Entry too large to be read");
+		
+		final long data = localHeader + (long) LOCAL_FILE_HEADER_SIZE
+			+ (buffer.getShort(localHeader + 26) & 0xFFFF)
+			+ (buffer.getShort(localHeader + 28) & 0xFFFF);
+		
+		if(data + compressedSize > buffer.limit())
+			throw new ZipException("Truncated entry");
+		
+		return getContent(method, (int) data, (int) compressedSize, (int) size);
+	}
+	
+	/**
+	 * Replace the sizes and the offset of an entry saturated in its central directory header ({@code 0xFFFFFFFF}) by
+	 * their values in the entry's ZIP64 extended information extra field, which only holds the saturated ones, in the
+	 * same order.
+	 *
+	 * @param header The position of the entry's central directory header.
+	 * @param values The uncompressed size, the compressed size and the local header offset of the entry.
+	 */
+	private void readZip64ExtraField(final int header, final long[] values) throws ZipException {
+		if(values[0] != 0xFFFFFFFFL && values[1] != 0xFFFFFFFFL && values[2] != 0xFFFFFFFFL)
+			return;
+		
+		final int nameLength = buffer.getShort(header + 28) & 0xFFFF;
+		final int extraLength = buffer.getShort(header + 30) & 0xFFFF;
+		final int extraEnd = header + CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + extraLength;
+		int position = header + CENTRAL_DIRECTORY_HEADER_SIZE + nameLength;
+		
+		while(position + 4 <= extraEnd) {
+			final int id = buffer.getShort(position) & 0xFFFF;
+			final int length = buffer.getShort(position + 2) & 0xFFFF;
+			
+			if(id == ZIP64_EXTRA_FIELD) {
+				int field = position + 4;
+				
+				for(int i = 0; i < values.length; i++) {
+					if(values[i] != 0xFFFFFFFFL)
+						continue;
+					if(field + 8 > position + 4 + length)
+						throw new ZipException("Invalid ZIP64 extra field");
+					
+					values[i] = buffer.getLong(field);
+					field += 8;
+				}
+				
+				return;
+			}
+			
+			position += 4 + length;
+		}
+		
+		throw new ZipException("Missing ZIP64 extra field");
+	}
+	
+	private ByteBuffer getContent(final int method, final int data, final int compressedSize, final int size) throws IOException {
+		final ByteBuffer compressed = buffer.duplicate();
+		compressed.position(data);
+		compressed.limit(data + compressedSize);
+		
+		if(method == STORED)
+			return compressed.slice().order(ByteOrder.LITTLE_ENDIAN);
+		if(method != DEFLATED)
+			throw new ZipException("Unsupported compression method: " + method);
+		
+		final byte[] input = new byte[compressedSize];
+		final byte[] content = new byte[size];
+		final Inflater inflater = new Inflater(true);
+		int inflated = 0;
+		
+		compressed.get(input);
+		
+		try {
+			inflater.setInput(input);
+			
+			while(!inflater.finished()) {
+				final int count = inflater.inflate(content, inflated, content.length - inflated);
+				
+				if(count == 0 && (inflater.needsInput() || inflater.needsDictionary() || inflated == content.length))
+					break;
+				
+				inflated += count;
+			}
+			
+			if(!inflater.finished() || inflated != size)
+				throw new ZipException("Invalid deflated entry: " + inflated + " bytes inflated instead of " + size);
+			
+			return ByteBuffer.wrap(content).order(ByteOrder.LITTLE_ENDIAN);
+		}
+		catch(final DataFormatException e) {
+			throw new ZipException(e.getMessage());
+		}
+		finally {
+			inflater.end();
+		}
+	}
+	
+	private static InputStream toInputStream(final ByteBuffer content) {
+		if(content.hasArray())
+			return new ByteArrayInputStream(content.array(), content.arrayOffset() + content.position(), content.remaining());
+		
+		final byte[] bytes = new byte[content.remaining()];
+		content.duplicate().get(bytes);
+		return new ByteArrayInputStream(bytes);
+	}
+}
@@ -0,0 +1,154 @@
+package io.fries.reflection.scanners;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.module.ModuleFinder;
+import java.lang.module.ModuleReader;
+import java.lang.module.ModuleReference;
+import java.lang.module.ResolvedModule;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Access to the Java Platform Module System, used from Java 9 onward through the multi-release JAR of the library.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class ModuleSupport {
+	
+	/**
+	 * Parent of the {@link File}s standing for the modules of the runtime image, such as {@code jrt:/java.base}.
+	 */
+	static final String SYSTEM_MODULES = "jrt:";
+	
+	private static final String MODULE_INFO = "module-info.class";
+	
+	private ModuleSupport() {
+	}
+	
+	/**
+	 * @return The JAR files and directories of the modules of the boot layer that were found on the module path, and
+	 * their {@link ClassLoader}.
+	 */
+	static Map<File, ClassLoader> getModulePath() {
+		final Map<File, ClassLoader> entries = new LinkedHashMap<>();
+		
+		for(ResolvedModule module : ModuleLayer.boot().configuration().modules()) {
+			final Optional<URI> location = module.reference().location();
+			
+			if(location.isPresent() && "file".equals(location.get().getScheme()))
+				entries.put(new File(location.get()), getClassLoader(module.name()));
+		}
+		
+		return entries;
+	}
+	
+	/**
+	 * @return The modules of the boot layer that belong to the runtime image, as {@code jrt:/<module>} files, and their
+	 * {@link ClassLoader}.
+	 */
+	static Map<File, ClassLoader> getSystemModules() {
+		final Map<File, ClassLoader> entries = new LinkedHashMap<>();
+		
+		for(ResolvedModule module : ModuleLayer.boot().configuration().modules()) {
+			final Optional<URI> location = module.reference().location();
+			
+			if(location.isPresent() && "jrt".equals(location.get().getScheme()))
+				entries.put(new File(SYSTEM_MODULES, module.name()), getClassLoader(module.name()));
+		}
+		
+		return entries;
+	}
+	
+	/**
+	 * @return The {@link ClassLoader} of the provided module, or the platform class loader for the modules defined by
+	 * the bootstrap class loader, which it delegates to.
+	 */
+	private static ClassLoader getClassLoader(final String moduleName) {
+		final ClassLoader classLoader = ModuleLayer.boot().findLoader(moduleName);
+		
+		return (classLoader != null) ? classLoader : ClassLoader.getPlatformClassLoader();
+	}
+	
+	/**
+	 * @param file A class path element.
+	 *
+	 * @return {@code true} if the provided file stands for a module of the runtime image; {@code false} otherwise.
+	 */
+	static boolean isSystemModule(final File file) {
+		return SYSTEM_MODULES.equals(file.getParent());
+	}
+	
+	/**
+	 * @param file A {@code jrt:/<module>} file.
+	 *
+	 * @return The opened content of the module.
+	 *
+	 * @throws IOException If the module cannot be found or read.
+	 */
+	static ModuleContent openSystemModule(final File file) throws IOException {
+		return findSystemModule(file).open();
+	}
+	
+	/**
+	 * @param file A {@code jrt:/<module>} file.
+	 *
+	 * @return The module of the runtime image, which can then be opened without being looked up again.
+	 *
+	 * @throws IOException If the module cannot be found.
+	 */
+	static SystemModule findSystemModule(final File file) throws IOException {
+		final String moduleName = file.getName();
+		final Optional<ModuleReference> reference = ModuleFinder.ofSystem().find(moduleName);
+		
+		if(!reference.isPresent())
+			throw new FileNotFoundException(file.getPath());
+		
+		return () -> open(reference.get().open());
+	}
+	
+	/**
+	 * @return The content of a module read through the provided {@link ModuleReader}, which is closed along with it.
+	 */
+	private static ModuleContent open(final ModuleReader reader) {
+		return new ModuleContent() {
+			@Override
+			public Stream<String> list() throws IOException {
+				return reader.list().filter(name -> !name.endsWith("/") && !name.equals(MODULE_INFO));
+			}
+			
+			@Override
+			public InputStream open(final String resourceName) throws IOException {
+				return reader.open(resourceName).orElseThrow(() -> new FileNotFoundException(resourceName));
+			}
+			
+			@Override
+			public ByteBuffer read(final String resourceName) throws IOException {
+				final ByteBuffer content = reader.read(resourceName).orElseThrow(() -> new FileNotFoundException(resourceName));
+				
+				try {
+					final ByteBuffer copy = ByteBuffer.allocate(content.remaining());
+					
+					copy.put(content);
+					copy.flip();
+					return copy.asReadOnlyBuffer();
+				}
+				finally {
+					reader.release(content);
+				}
+			}
+			
+			@Override
+			public void close() throws IOException {
+				reader.close();
+			}
+		};
+	}
+}
@@ -0,0 +1,163 @@
+package io.fries.reflection;
+
+import io.fries.reflection.metadata.ClassMetadata;
+import io.fries.reflection.metadata.MemberMetadata;
+import io.fries.reflection.metadata.ResourceMetadata;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClassFileIndexTest {
+	
+	private List<String> loadedClasses;
+	private Reflection reflection;
+	
+	@Before
+	public void setup() {
+		loadedClasses = new CopyOnWriteArrayList<>();
+		
+		final ClassLoader classLoader = new ClassLoader(Thread.currentThread().getContextClassLoader()) {
+			@Override
+			public Class<?> loadClass(final String name) throws ClassNotFoundException {
+				loadedClasses.add(name);
+				return super.loadClass(name);
+			}
+		};
+		
+		final Set<ResourceMetadata> resources = new LinkedHashSet<>();
+		resources.add(new ClassMetadata("io/fries/reflection/ClassFileIndexTest$Service.class", classLoader));
+		resources.add(new ClassMetadata("io/fries/reflection/ClassFileIndexTest$ExtendedService.class", classLoader));
+		resources.add(new ClassMetadata("io/fries/reflection/ClassFileIndexTest$BaseService.class", classLoader));
+		resources.add(new ClassMetadata("io/fries/reflection/ClassFileIndexTest$SpecialService.class", classLoader));
+		resources.add(new ClassMetadata("io/fries/reflection/ClassFileIndexTest$Unrelated.class", classLoader));
+		resources.add(new ClassMetadata("io/fries/reflection/Missing.class", classLoader));
+		
+		reflection = Reflection.of(() -> resources);
+	}
+	
+	@Test
+	public void getSubClasses() {
+		assertThat(reflection.getSubClasses(Service.class.getName()))
+			.extracting(ClassMetadata::getName)
+			.containsExactlyInAnyOrder(
+				ExtendedService.class.getName(),
+				BaseService.class.getName(),
+				SpecialService.class.getName()
+			);
+		assertThat(reflection.getSubClasses(BaseService.class.getName()))
+			.extracting(ClassMetadata::getName)
+			.containsExactly(SpecialService.class.getName());
+		assertThat(loadedClasses).isEmpty();
+	}
+	
+	@Test
+	public void getSubClassesOfUnknownType() {
+		assertThat(reflection.getSubClasses("com.example.Unknown")).isEmpty();
+	}
+	
+	@Test
+	public void getSubTypesOfOnlyLoadsMatchingClasses() {
+		final Set<Class<? extends Service>> subTypes = reflection.getSubTypesOf(Service.class);
+		
+		assertThat(subTypes).containsExactlyInAnyOrder(ExtendedService.class, BaseService.class, SpecialService.class);
+		assertThat(loadedClasses).containsExactlyInAnyOrder(
+			ExtendedService.class.getName(),
+			BaseService.class.getName(),
+			SpecialService.class.getName()
+		);
+	}
+	
+	@Test
+	public void getAnnotatedMembers() {
+		assertThat(reflection.getAnnotatedMembers(Route.class))
+			.extracting(MemberMetadata::toString)
+			.containsExactlyInAnyOrder(
+				BaseService.class.getName() + ".name" + "Ljava/lang/String;",
+				BaseService.class.getName() + ".<init>" + "(I)V",
+				BaseService.class.getName() + ".handle" + "(Ljava/lang/String;[I)Z"
+			);
+		assertThat(reflection.getAnnotatedMembers(Deprecated.class.getName()))
+			.extracting(MemberMetadata::getKind)
+			.containsExactly(MemberMetadata.Kind.METHOD);
+		assertThat(loadedClasses).isEmpty();
+	}
+	
+	@Test
+	public void getAnnotatedMethodsOnlyLoadsDeclaringClasses() throws NoSuchMethodException {
+		assertThat(reflection.getAnnotatedMethods(Route.class))
+			.containsExactly(BaseService.class.getDeclaredMethod("handle", String.class, int[].class));
+		assertThat(loadedClasses).containsExactly(BaseService.class.getName());
+	}
+	
+	@Test
+	public void getAnnotatedFields() throws NoSuchFieldException {
+		assertThat(reflection.getAnnotatedFields(Route.class)).containsExactly(BaseService.class.getDeclaredField("name"));
+	}
+	
+	@Test
+	public void loadConstructor() throws NoSuchMethodException {
+		final Optional<MemberMetadata> constructor = reflection.getAnnotatedMembers(Route.class).stream()
+			.filter(member -> member.getKind() == MemberMetadata.Kind.CONSTRUCTOR)
+			.findFirst();
+		
+		assertThat(constructor).isPresent();
+		assertThat(constructor.get().load()).contains(BaseService.class.getDeclaredConstructor(int.class));
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void getSubClassesIsUnmodifiable() {
+		reflection.getSubClasses(Service.class.getName()).clear();
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void nullType() {
+		reflection.getSubTypesOf(null);
+	}
+	
+	interface Service {
+	}
+	
+	interface ExtendedService extends Service {
+	}
+	
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface Route {
+	}
+	
+	static class BaseService implements Service {
+		
+		@Route
+		private String name;
+		
+		BaseService() {
+		}
+		
+		@Route
+		BaseService(final int id) {
+		}
+		
+		@Route
+		boolean handle(final String path, final int[] parameters) {
+			return true;
+		}
+	}
+	
+	static class SpecialService extends BaseService {
+	}
+	
+	static class Unrelated {
+		
+		@Deprecated
+		void run() {
+		}
+	}
+}
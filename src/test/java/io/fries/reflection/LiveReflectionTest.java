@@ -0,0 +1,47 @@
+package io.fries.reflection;
+
+import io.fries.reflection.metadata.ClassMetadata;
+import io.fries.reflection.scanners.ClassPathScanner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LiveReflectionTest {
+	
+	private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	@Test
+	public void get() throws IOException, InterruptedException {
+		final File classes = folder.newFolder("classes");
+		final ClassLoader classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, null);
+		
+		try(final LiveReflection reflection = LiveReflection.of(ClassPathScanner.of(classLoader).watch())) {
+			final Reflection initial = reflection.get();
+			
+			final File handler = new File(classes, "com/example/Handler.class");
+			Files.createDirectories(handler.getParentFile().toPath());
+			Files.write(handler.toPath(), new byte[0]);
+			
+			final long deadline = System.currentTimeMillis() + TIMEOUT;
+			while(reflection.get().getClasses("com.example").isEmpty() && System.currentTimeMillis() < deadline)
+				Thread.sleep(50);
+			
+			assertThat(initial.getClasses()).isEmpty();
+			assertThat(reflection.get().getClasses("com.example"))
+				.extracting(ClassMetadata::getName)
+				.containsExactly("com.example.Handler");
+		}
+	}
+}
@@ -2,6 +2,8 @@ package io.fries.reflection;
 
 import io.fries.reflection.metadata.ClassMetadata;
 import io.fries.reflection.metadata.ResourceMetadata;
+import io.fries.reflection.scanners.ClassPathScanner;
+import io.fries.reflection.scanners.ScanException;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -9,10 +11,23 @@ import org.mockito.InjectMocks;
 import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ReflectionTest {
@@ -72,6 +87,32 @@ public class ReflectionTest {
 			);
 	}
 	
+	@Test
+	public void getClassesWithPackage() {
+		assertThat(reflection.getClasses("com.test.handlers.meta"))
+			.extracting(ClassMetadata::getResource)
+			.containsExactlyInAnyOrder(
+				"com/test/handlers/meta/DefaultMetaHandler.class",
+				"com/test/handlers/meta/DefaultMetaHandler$Builder.class"
+			);
+	}
+	
+	@Test
+	public void getClassesWithUnknownPackage() {
+		assertThat(reflection.getClasses("com.unknown")).isEmpty();
+	}
+	
+	@Test
+	public void getClassesRecursively() {
+		assertThat(reflection.getClassesRecursively("com.test.hand"))
+			.extracting(ClassMetadata::getResource)
+			.containsExactlyInAnyOrder(
+				"com/test/handlers/DefaultHandler.class",
+				"com/test/handlers/meta/DefaultMetaHandler.class",
+				"com/test/handlers/meta/DefaultMetaHandler$Builder.class"
+			);
+	}
+	
 	@Test
 	public void getTopLevelClasses() {
 		assertThat(reflection.getTopLevelClasses())
@@ -102,4 +143,169 @@ public class ReflectionTest {
 				"com/test/handlers/meta/DefaultMetaHandler.class"
 			);
 	}
-}
\ No newline at end of file
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void getClassesIsUnmodifiable() {
+		reflection.getClasses().clear();
+	}
+	
+	@Test
+	public void getTypesLoadsEachClassOnce() {
+		final AtomicInteger loads = new AtomicInteger();
+		final ClassLoader classLoader = new ClassLoader(Thread.currentThread().getContextClassLoader()) {
+			@Override
+			public Class<?> loadClass(final String name) throws ClassNotFoundException {
+				loads.incrementAndGet();
+				return super.loadClass(name);
+			}
+		};
+		final Set<ResourceMetadata> loadableResources = new HashSet<>();
+		loadableResources.add(new ClassMetadata("io/fries/reflection/ReflectionTest.class", classLoader));
+		loadableResources.add(new ClassMetadata("io/fries/reflection/Unknown.class", classLoader));
+		
+		final Reflection loadableReflection = Reflection.of(() -> loadableResources);
+		
+		assertThat(loadableReflection.getTypes()).containsExactly(ReflectionTest.class);
+		assertThat(loadableReflection.getTypes("io.fries.reflection")).containsExactly(ReflectionTest.class);
+		assertThat(loadableReflection.getAnnotatedTypes(RunWith.class)).containsExactly(ReflectionTest.class);
+		assertThat(loadableReflection.getTypes()).isSameAs(loadableReflection.getTypes());
+		assertThat(loadableReflection.getTypes("io.fries.reflection")).isSameAs(loadableReflection.getTypes("io.fries.reflection"));
+		assertThat(loadableReflection.getTypesRecursively("io.fries")).containsExactly(ReflectionTest.class);
+		assertThat(loadableReflection.getTypes("io.fries.unknown")).isEmpty();
+		assertThat(loads.get()).isEqualTo(2);
+	}
+	
+	@Test
+	public void parallelLoading() {
+		final AtomicInteger runningLoads = new AtomicInteger();
+		final AtomicInteger maxRunningLoads = new AtomicInteger();
+		final ClassLoader classLoader = new ClassLoader(Thread.currentThread().getContextClassLoader()) {
+			@Override
+			public Class<?> loadClass(final String name) throws ClassNotFoundException {
+				maxRunningLoads.accumulateAndGet(runningLoads.incrementAndGet(), Math::max);
+				
+				try {
+					Thread.sleep(20);
+					
+					if(name.endsWith("Broken"))
+						throw new NoSuchFieldError(name);
+					
+					return super.loadClass(name);
+				}
+				catch(final InterruptedException e) {
+					throw new ClassNotFoundException(name, e);
+				}
+				finally {
+					runningLoads.decrementAndGet();
+				}
+			}
+		};
+		final Set<ResourceMetadata> loadableResources = new HashSet<>();
+		loadableResources.add(new ClassMetadata("io/fries/reflection/Reflection.class", classLoader));
+		loadableResources.add(new ClassMetadata("io/fries/reflection/ReflectionTest.class", classLoader));
+		loadableResources.add(new ClassMetadata("io/fries/reflection/ParallelLoader.class", classLoader));
+		loadableResources.add(new ClassMetadata("io/fries/reflection/Broken.class", classLoader));
+		loadableResources.add(new ClassMetadata("io/fries/reflection/Unknown.class", classLoader));
+		
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		
+		try {
+			final Reflection loadableReflection = Reflection.of(() -> loadableResources).parallelLoading(executor, 2);
+			
+			assertThat(loadableReflection.getTypes()).containsExactlyInAnyOrder(Reflection.class, ReflectionTest.class, ParallelLoader.class);
+			assertThat(loadableReflection.getTypes()).isEqualTo(Reflection.of(() -> loadableResources).getTypes());
+			assertThat(maxRunningLoads.get()).isBetween(1, 2);
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void parallelLoadingOnRejectingExecutor() {
+		final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		final Set<ResourceMetadata> loadableResources = new HashSet<>();
+		loadableResources.add(new ClassMetadata("io/fries/reflection/Reflection.class", classLoader));
+		loadableResources.add(new ClassMetadata("io/fries/reflection/ReflectionTest.class", classLoader));
+		
+		final Reflection loadableReflection = Reflection.of(() -> loadableResources).parallelLoading(task -> {
+			throw new RejectedExecutionException();
+		}, 4);
+		
+		assertThat(loadableReflection.getTypes()).containsExactlyInAnyOrder(Reflection.class, ReflectionTest.class);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void parallelLoadingWithNullExecutor() {
+		reflection.parallelLoading(null, 2);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void parallelLoadingWithInvalidParallelism() {
+		reflection.parallelLoading(Runnable::run, 0);
+	}
+	
+	@Test
+	public void ofAsync() {
+		final List<Runnable> tasks = new ArrayList<>();
+		final CompletableFuture<Reflection> asyncReflection = Reflection.ofAsync(() -> resources, tasks::add);
+		
+		assertThat(asyncReflection).isNotDone();
+		tasks.forEach(Runnable::run);
+		
+		assertThat(asyncReflection.join().getClasses()).hasSize(5);
+	}
+	
+	@Test
+	public void ofAsyncReportsScanFailure() {
+		final CompletableFuture<Reflection> asyncReflection = Reflection.ofAsync(() -> {
+			throw new IllegalStateException("Scan failed");
+		}, Runnable::run);
+		
+		assertThatThrownBy(asyncReflection::join)
+			.isInstanceOf(CompletionException.class)
+			.hasCauseInstanceOf(IllegalStateException.class);
+	}
+	
+	@Test
+	public void ofAsyncReportsUnreadableClassPath() throws IOException {
+		final File broken = File.createTempFile("broken", ".jar");
+		broken.deleteOnExit();
+		final ClassLoader brokenClassLoader = new URLClassLoader(new URL[]{broken.toURI().toURL()}, null);
+		final CompletableFuture<Reflection> asyncReflection = Reflection.ofAsync(ClassPathScanner.of(brokenClassLoader).failOnError(), Runnable::run);
+		
+		assertThatThrownBy(asyncReflection::join)
+			.isInstanceOf(CompletionException.class)
+			.hasCauseInstanceOf(ScanException.class);
+	}
+	
+	@Test
+	public void ofAsyncReportsRejectedTask() {
+		final CompletableFuture<Reflection> asyncReflection = Reflection.ofAsync(() -> resources, task -> {
+			throw new RejectedExecutionException();
+		});
+		
+		assertThatThrownBy(asyncReflection::join).hasCauseInstanceOf(RejectedExecutionException.class);
+	}
+	
+	@Test
+	public void ofAsyncCancelledBeforeScan() {
+		final AtomicInteger scans = new AtomicInteger();
+		final List<Runnable> tasks = new ArrayList<>();
+		final CompletableFuture<Reflection> asyncReflection = Reflection.ofAsync(() -> {
+			scans.incrementAndGet();
+			return resources;
+		}, tasks::add);
+		
+		assertThat(asyncReflection.cancel(false)).isTrue();
+		tasks.forEach(Runnable::run);
+		
+		assertThat(asyncReflection).isCancelled();
+		assertThat(scans.get()).isZero();
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void ofAsyncWithNullExecutor() {
+		Reflection.ofAsync(() -> resources, null);
+	}
+}
@@ -0,0 +1,84 @@
+package io.fries.reflection.filters;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static java.lang.Thread.currentThread;
+import static org.assertj.core.api.Assertions.*;
+
+public class ClassFileAnnotationFilterTest {
+	
+	@Test
+	public void accept() {
+		final Filter filter = ClassFileAnnotationFilter.all(RunWith.class);
+		
+		final boolean accepted = filter.accept(currentThread().getContextClassLoader(), "io/fries/reflection/ReflectionTest.class");
+		
+		assertThat(accepted).isTrue();
+	}
+	
+	@Test
+	public void acceptAny() {
+		final Filter filter = ClassFileAnnotationFilter.any(Deprecated.class, RunWith.class);
+		
+		final boolean accepted = filter.accept(currentThread().getContextClassLoader(), "io/fries/reflection/ReflectionTest.class");
+		
+		assertThat(accepted).isTrue();
+	}
+	
+	@Test
+	public void denyAll() {
+		final Filter filter = ClassFileAnnotationFilter.all(Deprecated.class, RunWith.class);
+		
+		final boolean accepted = filter.accept(currentThread().getContextClassLoader(), "io/fries/reflection/ReflectionTest.class");
+		
+		assertThat(accepted).isFalse();
+	}
+	
+	@Test
+	public void deny() {
+		final Filter filter = ClassFileAnnotationFilter.all(RunWith.class);
+		
+		final boolean accepted = filter.accept(currentThread().getContextClassLoader(), "io/fries/reflection/filters/ClassFileAnnotationFilterTest.class");
+		
+		assertThat(accepted).isFalse();
+	}
+	
+	@Test
+	public void doesNotLoadClass() {
+		final ClassLoader classLoader = new ClassLoader(currentThread().getContextClassLoader()) {
+			@Override
+			protected Class<?> loadClass(final String name, final boolean resolve) {
+				throw new AssertionError("Class should not be loaded: " + name);
+			}
+		};
+		final Filter filter = ClassFileAnnotationFilter.all(RunWith.class);
+		
+		final boolean accepted = filter.accept(classLoader, "io/fries/reflection/ReflectionTest.class");
+		
+		assertThat(accepted).isTrue();
+	}
+	
+	@Test
+	public void classDoesNotExists() {
+		final Filter filter = ClassFileAnnotationFilter.all(RunWith.class);
+		
+		final boolean accepted = filter.accept(currentThread().getContextClassLoader(), "some/random/resource/Class.class");
+		
+		assertThat(accepted).isFalse();
+	}
+	
+	@Test
+	public void notAClass() {
+		final Filter filter = ClassFileAnnotationFilter.all(RunWith.class);
+		
+		final boolean accepted = filter.accept(currentThread().getContextClassLoader(), "some/random/resource.properties");
+		
+		assertThat(accepted).isFalse();
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void exception() {
+		ClassFileAnnotationFilter.any();
+	}
+}
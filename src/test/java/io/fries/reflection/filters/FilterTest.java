@@ -0,0 +1,88 @@
+package io.fries.reflection.filters;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FilterTest {
+	
+	private static final Filter CLASSES = (classLoader, resourceName) -> resourceName.endsWith(".class");
+	
+	@Test
+	public void and() {
+		final Filter filter = PackageFilter.of("com.example").and(CLASSES);
+		
+		assertThat(filter.accept(null, "com/example/Example.class")).isTrue();
+		assertThat(filter.accept(null, "com/example/example.xml")).isFalse();
+		assertThat(filter.accept(null, "org/example/Example.class")).isFalse();
+	}
+	
+	@Test
+	public void or() {
+		final Filter filter = PackageFilter.of("com.example").or(CLASSES);
+		
+		assertThat(filter.accept(null, "com/example/example.xml")).isTrue();
+		assertThat(filter.accept(null, "org/example/Example.class")).isTrue();
+		assertThat(filter.accept(null, "org/example/example.xml")).isFalse();
+	}
+	
+	@Test
+	public void not() {
+		final Filter filter = Filter.not(new ManifestFilter());
+		
+		assertThat(filter.accept(null, "META-INF/MANIFEST.MF")).isTrue();
+		assertThat(filter.accept(null, "com/example/Example.class")).isFalse();
+	}
+	
+	@Test
+	public void andEvaluatesTheCheapestFilterFirst() {
+		final Filter expensive = new Filter() {
+			@Override
+			public boolean accept(final ClassLoader classLoader, final String resourceName) {
+				throw new AssertionError("The expensive filter should not be evaluated");
+			}
+			
+			@Override
+			public Cost getCost() {
+				return Cost.CLASS;
+			}
+		};
+		
+		assertThat(expensive.and(PackageFilter.of("com.example")).accept(null, "org/example/Example.class")).isFalse();
+		assertThat(expensive.or(PackageFilter.of("com.example")).accept(null, "com/example/Example.class")).isTrue();
+	}
+	
+	@Test
+	public void acceptsPackage() {
+		final Filter example = PackageFilter.of("com.example");
+		final Filter other = PackageFilter.of("org.other");
+		
+		assertThat(example.and(other).acceptsPackage("com")).isFalse();
+		assertThat(example.or(other).acceptsPackage("com")).isTrue();
+		assertThat(example.or(other).acceptsPackage("net")).isFalse();
+		assertThat(Filter.not(example).acceptsPackage("com.example")).isTrue();
+	}
+	
+	@Test
+	public void acceptsPackageResources() {
+		final Filter example = PackageFilter.of("com.example");
+		final Filter other = PackageFilter.of("org.other");
+		
+		assertThat(example.or(other).acceptsPackageResources("com")).isFalse();
+		assertThat(example.or(other).acceptsPackageResources("org.other")).isTrue();
+		assertThat(example.and(other).acceptsPackageResources("com.example")).isFalse();
+		assertThat(Filter.not(example).acceptsPackageResources("com")).isTrue();
+	}
+	
+	@Test
+	public void getCost() {
+		assertThat(CLASSES.getCost()).isEqualTo(Filter.Cost.CONTENT);
+		assertThat(new ManifestFilter().and(PackageFilter.of("")).getCost()).isEqualTo(Filter.Cost.NAME);
+		assertThat(new ManifestFilter().and(AnnotationFilter.any(Deprecated.class)).getCost()).isEqualTo(Filter.Cost.CLASS);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void nullOperand() {
+		new ManifestFilter().and(null);
+	}
+}
@@ -55,4 +55,53 @@ public class PackageFilterTest {
 
 		assertThat(accepted).isFalse();
 	}
-}
\ No newline at end of file
+	
+	@Test
+	public void acceptsParentPackages() {
+		final Filter filter = PackageFilter.of("com.example");
+		
+		assertThat(filter.acceptsPackage("")).isTrue();
+		assertThat(filter.acceptsPackage("com")).isTrue();
+		assertThat(filter.acceptsPackage("com.example")).isTrue();
+	}
+	
+	@Test
+	public void rejectsOtherPackages() {
+		final Filter filter = PackageFilter.of("com.example");
+		
+		assertThat(filter.acceptsPackage("org")).isFalse();
+		assertThat(filter.acceptsPackage("com.ex")).isFalse();
+		assertThat(filter.acceptsPackage("com.example.sub")).isFalse();
+	}
+	
+	@Test
+	public void acceptsSubPackages() {
+		final Filter filter = PackageFilter.withSubpackages("com.example");
+		
+		assertThat(filter.acceptsPackage("com.example.sub")).isTrue();
+		assertThat(filter.acceptsPackage("org.example")).isFalse();
+	}
+	
+	@Test
+	public void acceptsOnlyResourcesOfMatchingPackages() {
+		final Filter filter = PackageFilter.of("com.example");
+		final Filter subPackagesFilter = PackageFilter.withSubpackages("com.example");
+		
+		assertThat(filter.acceptsPackageResources("com.example")).isTrue();
+		assertThat(filter.acceptsPackageResources("com")).isFalse();
+		assertThat(filter.acceptsPackageResources("")).isFalse();
+		assertThat(filter.acceptsPackageResources("com.example.sub")).isFalse();
+		assertThat(subPackagesFilter.acceptsPackageResources("com.example.sub")).isTrue();
+		assertThat(subPackagesFilter.acceptsPackageResources("com")).isFalse();
+		assertThat(PackageFilter.of("").acceptsPackageResources("")).isTrue();
+		assertThat(PackageFilter.of("").acceptsPackageResources("com")).isFalse();
+	}
+	
+	@Test
+	public void emptyPackageOnlyAcceptsRootPackage() {
+		final Filter filter = PackageFilter.of("");
+		
+		assertThat(filter.acceptsPackage("")).isTrue();
+		assertThat(filter.acceptsPackage("com")).isFalse();
+	}
+}
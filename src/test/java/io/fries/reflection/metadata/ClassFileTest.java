@@ -0,0 +1,66 @@
+package io.fries.reflection.metadata;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static java.lang.Thread.currentThread;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClassFileTest {
+	
+	private static final String ANNOTATED_CLASS = "io/fries/reflection/ReflectionTest.class";
+	private static final String INNER_CLASS = "io/fries/reflection/metadata/ClassFileTest$Implementation.class";
+	
+	@Test
+	public void read() throws IOException {
+		final ClassFile classFile = read(ANNOTATED_CLASS);
+		
+		assertThat(classFile.getName()).isEqualTo("io.fries.reflection.ReflectionTest");
+		assertThat(classFile.getSuperName()).isEqualTo(Object.class.getName());
+		assertThat(classFile.getInterfaces()).isEmpty();
+		assertThat(classFile.getAnnotations()).containsExactly(RunWith.class.getName());
+	}
+	
+	@Test
+	public void readHierarchy() throws IOException {
+		final ClassFile classFile = read(INNER_CLASS);
+		
+		assertThat(classFile.getName()).isEqualTo(Implementation.class.getName());
+		assertThat(classFile.getSuperName()).isEqualTo(Thread.class.getName());
+		assertThat(classFile.getInterfaces()).containsExactly(Runnable.class.getName(), Comparable.class.getName());
+		assertThat(classFile.getAnnotations()).containsExactly(Deprecated.class.getName());
+	}
+	
+	@Test
+	public void readAnnotatedMembers() throws IOException {
+		final ClassFile classFile = read(ANNOTATED_CLASS);
+		
+		assertThat(classFile.getAnnotatedFields())
+			.extracting(ClassFile.Member::toString)
+			.containsExactlyInAnyOrder("resources" + "Ljava/util/Set;", "reflection" + "Lio/fries/reflection/Reflection;");
+		assertThat(classFile.getAnnotatedMethods())
+			.filteredOn(method -> method.getName().equals("setup"))
+			.flatExtracting(ClassFile.Member::getAnnotations)
+			.containsExactly(BeforeClass.class.getName());
+	}
+	
+	@Test(expected = IOException.class)
+	public void notAClassFile() throws IOException {
+		ClassFile.read(new ByteArrayInputStream("not a class".getBytes()));
+	}
+	
+	private static ClassFile read(final String resourceName) throws IOException {
+		try(final InputStream in = currentThread().getContextClassLoader().getResourceAsStream(resourceName)) {
+			return ClassFile.read(in);
+		}
+	}
+	
+	@Deprecated
+	private static abstract class Implementation extends Thread implements Runnable, Comparable<Object> {
+	}
+}
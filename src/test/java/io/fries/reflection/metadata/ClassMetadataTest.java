@@ -57,6 +57,15 @@ public class ClassMetadataTest {
 		assertThat(simpleName).isEqualTo("Builder");
 	}
 	
+	@Test
+	public void getNameInDefaultPackage() {
+		final ClassMetadata classMetadata = new ClassMetadata("Main$Inner.class", null);
+		
+		assertThat(classMetadata.getName()).isEqualTo("Main$Inner");
+		assertThat(classMetadata.getPackage()).isEmpty();
+		assertThat(classMetadata.getSimpleName()).isEqualTo("Inner");
+	}
+	
 	@Test
 	@SuppressWarnings("ConstantConditions")
 	public void load() {
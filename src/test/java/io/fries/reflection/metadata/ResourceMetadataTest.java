@@ -2,7 +2,16 @@ package io.fries.reflection.metadata;
 
 import org.junit.Test;
 
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class ResourceMetadataTest {
 	
@@ -20,4 +29,115 @@ public class ResourceMetadataTest {
 		final ResourceMetadata resourceMetadata = ResourceMetadata.create(SIMPLE_RESOURCE, null);
 		assertThat(resourceMetadata).isNotInstanceOf(ClassMetadata.class);
 	}
-}
\ No newline at end of file
+	
+	@Test
+	public void getResource() {
+		assertThat(ResourceMetadata.create(SIMPLE_RESOURCE, null).getResource()).isEqualTo(SIMPLE_RESOURCE);
+		assertThat(ResourceMetadata.create("application.properties", null).getResource()).isEqualTo("application.properties");
+	}
+	
+	@Test
+	public void shareResourcePackage() {
+		final ResourceMetadata classResource = ResourceMetadata.create(new String(CLASS_RESOURCE.toCharArray()), null);
+		final ResourceMetadata simpleResource = ResourceMetadata.create(new String(SIMPLE_RESOURCE.toCharArray()), null);
+		
+		assertThat(classResource.getResourcePackage()).isSameAs(simpleResource.getResourcePackage());
+	}
+	
+	@Test
+	public void getContentFromOrigin() throws IOException {
+		final ResourceOrigin origin = resourceName -> ByteBuffer.wrap(resourceName.getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer();
+		final ResourceMetadata resourceMetadata = ResourceMetadata.create(SIMPLE_RESOURCE, null, origin);
+		
+		assertThat(resourceMetadata.getOrigin()).isSameAs(origin);
+		assertThat(resourceMetadata.getContent().isReadOnly()).isTrue();
+		assertThat(resourceMetadata.getBytes()).isEqualTo(SIMPLE_RESOURCE.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	@Test
+	public void getContentThroughClassLoader() throws IOException {
+		final ResourceMetadata resourceMetadata = ResourceMetadata.create("io/fries/reflection/metadata/ResourceMetadataTest.class", getClass().getClassLoader());
+		final ByteBuffer content = resourceMetadata.getContent();
+		
+		assertThat(resourceMetadata.getOrigin()).isNull();
+		assertThat(content.isReadOnly()).isTrue();
+		assertThat(content.getInt()).isEqualTo(0xCAFEBABE);
+	}
+	
+	@Test
+	public void getContentOfMissingResource() {
+		final ResourceMetadata resourceMetadata = ResourceMetadata.create("com/unknown/missing.xml", getClass().getClassLoader());
+		
+		assertThatThrownBy(resourceMetadata::getContent).isInstanceOf(FileNotFoundException.class);
+	}
+	
+	@Test
+	public void readAllGroupsByOrigin() throws IOException {
+		final List<String> reads = new ArrayList<>();
+		final ResourceOrigin first = resourceName -> {
+			reads.add("first:" + resourceName);
+			return ByteBuffer.allocate(0);
+		};
+		final ResourceOrigin second = resourceName -> {
+			reads.add("second:" + resourceName);
+			return ByteBuffer.allocate(0);
+		};
+		final List<String> visited = new ArrayList<>();
+		
+		ResourceMetadata.readAll(Arrays.asList(
+			ResourceMetadata.create("a.xml", null, first),
+			ResourceMetadata.create("b.xml", null, second),
+			ResourceMetadata.create("c.xml", null, first),
+			ResourceMetadata.create("d.xml", null, second)
+		), (resource, content) -> visited.add(resource.getResource()));
+		
+		assertThat(reads).containsExactly("first:a.xml", "first:c.xml", "second:b.xml", "second:d.xml");
+		assertThat(visited).containsExactly("a.xml", "c.xml", "b.xml", "d.xml");
+	}
+	
+	@Test
+	public void readAllThroughOneBatchPerOrigin() throws IOException {
+		final List<String> events = new ArrayList<>();
+		final ResourceOrigin origin = new ResourceOrigin() {
+			@Override
+			public ByteBuffer read(final String resourceName) {
+				throw new AssertionError("Resources should be read through a batch");
+			}
+			
+			@Override
+			public Batch open() {
+				events.add("open");
+				return new Batch() {
+					@Override
+					public ByteBuffer read(final String resourceName) {
+						events.add("read:" + resourceName);
+						return ByteBuffer.allocate(0);
+					}
+					
+					@Override
+					public void close() {
+						events.add("close");
+					}
+				};
+			}
+		};
+		
+		ResourceMetadata.readAll(Arrays.asList(
+			ResourceMetadata.create("a.xml", null, origin),
+			ResourceMetadata.create("b.xml", null, origin)
+		), (resource, content) -> {
+		});
+		
+		assertThat(events).containsExactly("open", "read:a.xml", "read:b.xml", "close");
+	}
+	
+	@Test
+	public void equalsAndHashCode() {
+		final ResourceMetadata resourceMetadata = ResourceMetadata.create(SIMPLE_RESOURCE, null);
+		final ResourceMetadata sameResourceMetadata = ResourceMetadata.create(new String(SIMPLE_RESOURCE.toCharArray()), null);
+		
+		assertThat(resourceMetadata).isEqualTo(sameResourceMetadata);
+		assertThat(resourceMetadata.hashCode()).isEqualTo(SIMPLE_RESOURCE.hashCode());
+		assertThat(resourceMetadata).isNotEqualTo(ResourceMetadata.create("com/other/application.properties", null));
+	}
+}
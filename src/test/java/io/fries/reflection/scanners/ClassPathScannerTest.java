@@ -0,0 +1,694 @@
+package io.fries.reflection.scanners;
+
+import io.fries.reflection.filters.Filter;
+import io.fries.reflection.filters.PackageFilter;
+import io.fries.reflection.metadata.ClassMetadata;
+import io.fries.reflection.metadata.ResourceMetadata;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.junit.Assume.assumeTrue;
+
+public class ClassPathScannerTest {
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private ExecutorService executor;
+	private ClassLoader classLoader;
+	
+	@Before
+	public void setup() throws IOException {
+		executor = Executors.newFixedThreadPool(4);
+		
+		final File classes = folder.newFolder("classes");
+		write(classes, "com/example/Example.class");
+		
+		final File library = jar("library.jar", null, "org/library/Library.class", "org/library/library.xml");
+		final File dependency = jar("dependency.jar", null, "org/dependency/Dependency.class");
+		final File application = jar("application.jar", dependency.getName(), "com/application/Application.class");
+		
+		classLoader = new URLClassLoader(new URL[]{
+			library.toURI().toURL(),
+			application.toURI().toURL(),
+			classes.toURI().toURL(),
+			dependency.toURI().toURL()
+		}, null);
+	}
+	
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+	
+	@Test
+	public void getResources() {
+		assertThat(ClassPathScanner.of(classLoader).getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly(
+				"org/library/Library.class",
+				"org/library/library.xml",
+				"org/dependency/Dependency.class",
+				"com/application/Application.class",
+				"com/example/Example.class"
+			);
+	}
+	
+	@Test
+	public void getResourcesInParallel() {
+		final Set<ResourceMetadata> sequential = ClassPathScanner.of(classLoader).getResources();
+		
+		assertThat(ClassPathScanner.of(classLoader).parallel(executor).getResources())
+			.containsExactlyElementsOf(sequential);
+	}
+	
+	@Test
+	public void getFilteredResourcesInParallel() {
+		assertThat(ClassPathScanner.of(classLoader).parallel(executor).filter((loader, name) -> name.endsWith(".class")).getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly(
+				"org/library/Library.class",
+				"org/dependency/Dependency.class",
+				"com/application/Application.class",
+				"com/example/Example.class"
+			);
+	}
+	
+	@Test(timeout = 10000)
+	public void getResourcesInParallelOnItsOwnSingleThreadPool() throws Exception {
+		final ExecutorService singleThreadPool = Executors.newSingleThreadExecutor();
+		
+		try {
+			final ClassPathScanner scanner = ClassPathScanner.of(classLoader).parallel(singleThreadPool);
+			
+			assertThat(singleThreadPool.submit(scanner::getResources).get())
+				.containsExactlyElementsOf(ClassPathScanner.of(classLoader).getResources());
+		}
+		finally {
+			singleThreadPool.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void getResourcesInParallelOnRejectingExecutor() {
+		final ClassPathScanner scanner = ClassPathScanner.of(classLoader).parallel(task -> {
+			throw new RejectedExecutionException();
+		});
+		
+		assertThat(scanner.getResources()).containsExactlyElementsOf(ClassPathScanner.of(classLoader).getResources());
+	}
+	
+	@Test
+	public void shareConcurrentScans() throws Exception {
+		final AtomicInteger filtered = new AtomicInteger();
+		final CountDownLatch start = new CountDownLatch(1);
+		final ClassPathScanner scanner = ClassPathScanner.of(classLoader).filter((loader, name) -> filtered.incrementAndGet() > 0);
+		final List<Future<Set<ResourceMetadata>>> scans = new ArrayList<>();
+		
+		for(int i = 0; i < 4; i++) {
+			scans.add(executor.submit(() -> {
+				start.await();
+				return scanner.getResources();
+			}));
+		}
+		
+		start.countDown();
+		
+		for(Future<Set<ResourceMetadata>> scan : scans)
+			assertThat(scan.get()).hasSize(5);
+		
+		assertThat(scanner.getResources()).hasSize(5);
+		assertThat(filtered.get()).isEqualTo(5);
+	}
+	
+	@Test
+	public void scanAgainWhenConfigurationChanges() {
+		final ClassPathScanner scanner = ClassPathScanner.of(classLoader);
+		
+		assertThat(scanner.getResources()).hasSize(5);
+		assertThat(scanner.filter(PackageFilter.of("org.library")).getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly("org/library/Library.class", "org/library/library.xml");
+	}
+	
+	@Test
+	public void stream() {
+		assertThat(ClassPathScanner.of(classLoader).stream())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly(
+				"org/library/Library.class",
+				"org/library/library.xml",
+				"org/dependency/Dependency.class",
+				"com/application/Application.class",
+				"com/example/Example.class"
+			);
+	}
+	
+	@Test
+	public void streamStopsWhenShortCircuited() {
+		final AtomicInteger filtered = new AtomicInteger();
+		
+		final Optional<ResourceMetadata> first = ClassPathScanner.of(classLoader)
+			.filter((loader, name) -> filtered.incrementAndGet() > 0)
+			.stream()
+			.findFirst();
+		
+		assertThat(first).map(ResourceMetadata::getResource).contains("org/library/Library.class");
+		assertThat(filtered.get()).isEqualTo(2);
+	}
+	
+	@Test
+	public void skipRejectedPackages() {
+		final AtomicInteger filtered = new AtomicInteger();
+		final Filter packageFilter = PackageFilter.withSubpackages("org.library");
+		
+		final Set<ResourceMetadata> resources = ClassPathScanner.of(classLoader)
+			.filter(new Filter() {
+				@Override
+				public boolean accept(final ClassLoader classLoader, final String resourceName) {
+					filtered.incrementAndGet();
+					return packageFilter.accept(classLoader, resourceName);
+				}
+				
+				@Override
+				public boolean acceptsPackage(final String packageName) {
+					return packageFilter.acceptsPackage(packageName);
+				}
+			})
+			.getResources();
+		
+		assertThat(resources)
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly("org/library/Library.class", "org/library/library.xml");
+		assertThat(filtered.get()).isEqualTo(2);
+	}
+	
+	@Test
+	public void skipJarsWithoutAcceptedPackages() {
+		final Map<File, Integer> listedEntries = new LinkedHashMap<>();
+		
+		final Set<ResourceMetadata> resources = ClassPathScanner.of(classLoader)
+			.sharedCache()
+			.filter(PackageFilter.withSubpackages("org.dependency"))
+			.listener(new ScanListener() {
+				@Override
+				public void onEntryListed(final File file, final int resources, final long bytesRead, final long nanos) {
+					listedEntries.put(file, resources);
+				}
+			})
+			.getResources();
+		
+		assertThat(resources)
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly("org/dependency/Dependency.class");
+		assertThat(listedEntries.keySet()).extracting(File::getName)
+			.containsExactly("library.jar", "application.jar", "dependency.jar", "classes");
+		
+		SharedScanCache.INSTANCE.clear();
+	}
+	
+	@Test
+	public void getResourcesFromCache() throws IOException {
+		final File cache = folder.newFolder("cache");
+		final Set<ResourceMetadata> uncached = ClassPathScanner.of(classLoader).getResources();
+		
+		assertThat(ClassPathScanner.of(classLoader).cache(cache).getResources()).containsExactlyElementsOf(uncached);
+		assertThat(cache.listFiles()).hasSize(3);
+		assertThat(ClassPathScanner.of(classLoader).cache(cache).getResources()).containsExactlyElementsOf(uncached);
+	}
+	
+	@Test
+	public void getResourcesFromCacheUntilJarIsModified() throws IOException {
+		final File cache = folder.newFolder("cache");
+		final File jar = storedJar("cached.jar", "org/cached/Before.class");
+		final long length = jar.length();
+		final long lastModified = jar.lastModified();
+		final ClassLoader jarClassLoader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null);
+		
+		assertThat(ClassPathScanner.of(jarClassLoader).cache(cache).getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly("org/cached/Before.class");
+		
+		// Rewritten in place with different entries, but with the same size and last modification time
+		storedJar("cached.jar", "org/cached/Change.class");
+		assertThat(jar.length()).isEqualTo(length);
+		assertThat(jar.setLastModified(lastModified)).isTrue();
+		
+		assertThat(ClassPathScanner.of(jarClassLoader).cache(cache).getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly("org/cached/Before.class");
+		
+		assertThat(jar.setLastModified(lastModified + 2000)).isTrue();
+		
+		assertThat(ClassPathScanner.of(jarClassLoader).cache(cache).getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly("org/cached/Change.class");
+	}
+	
+	@Test
+	public void getResourcesFromOutdatedCache() throws IOException {
+		final File cache = folder.newFolder("cache");
+		ClassPathScanner.of(classLoader).cache(cache).getResources();
+		
+		final File library = jar("library.jar", null, "org/library/Library.class", "org/library/Other.class", "org/library/library.xml");
+		assertThat(library.setLastModified(library.lastModified() + 2000)).isTrue();
+		
+		assertThat(ClassPathScanner.of(classLoader).cache(cache).getResources())
+			.extracting(ResourceMetadata::getResource)
+			.startsWith(
+				"org/library/Library.class",
+				"org/library/Other.class",
+				"org/library/library.xml"
+			);
+	}
+	
+	@Test
+	public void getResourcesFromSharedCache() throws IOException {
+		final ClassLoader otherClassLoader = new URLClassLoader(((URLClassLoader) classLoader).getURLs(), null);
+		final Set<ResourceMetadata> uncached = ClassPathScanner.of(otherClassLoader).filter(PackageFilter.of("org.library")).getResources();
+		
+		SharedScanCache.INSTANCE.clear();
+		ClassPathScanner.of(classLoader).sharedCache().getResources();
+		
+		assertThat(SharedScanCache.INSTANCE.size()).isEqualTo(3);
+		assertThat(ClassPathScanner.of(otherClassLoader).sharedCache().filter(PackageFilter.of("org.library")).getResources())
+			.containsExactlyElementsOf(uncached);
+		
+		SharedScanCache.INSTANCE.clear();
+	}
+	
+	@Test
+	public void getResourcesFromMappedJars() {
+		final Set<ResourceMetadata> unmapped = ClassPathScanner.of(classLoader).getResources();
+		
+		assertThat(ClassPathScanner.of(classLoader).mappedJars().getResources()).containsExactlyElementsOf(unmapped);
+	}
+	
+	@Test
+	public void getResourcesFromMappedJarWithoutManifest() throws IOException {
+		final File archive = new File(folder.getRoot(), "archive.zip");
+		
+		try(final ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(archive))) {
+			zip.putNextEntry(new ZipEntry("org/archive/"));
+			zip.closeEntry();
+			zip.putNextEntry(new ZipEntry("org/archive/Archive.class"));
+			zip.closeEntry();
+		}
+		
+		final ClassLoader archiveClassLoader = new URLClassLoader(new URL[]{archive.toURI().toURL()}, null);
+		
+		assertThat(ClassPathScanner.of(archiveClassLoader).mappedJars().getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly("org/archive/Archive.class");
+	}
+	
+	@Test
+	public void reportStatisticsToListener() throws IOException {
+		final File broken = folder.newFile("broken.jar");
+		final ClassLoader brokenClassLoader = new URLClassLoader(new URL[]{broken.toURI().toURL()}, classLoader);
+		final Map<File, Integer> listedEntries = new LinkedHashMap<>();
+		final List<String> filterCounts = new ArrayList<>();
+		final List<File> errors = new ArrayList<>();
+		
+		ClassPathScanner.of(brokenClassLoader)
+			.filter((loader, name) -> name.endsWith(".class"))
+			.listener(new ScanListener() {
+				@Override
+				public void onEntryListed(final File file, final int resources, final long bytesRead, final long nanos) {
+					listedEntries.put(file, resources);
+				}
+				
+				@Override
+				public void onFilterEvaluated(final File file, final Filter filter, final long accepted, final long rejected, final long nanos) {
+					filterCounts.add(file.getName() + ':' + accepted + '/' + rejected);
+				}
+				
+				@Override
+				public void onError(final File file, final Exception exception) {
+					errors.add(file);
+				}
+			})
+			.getResources();
+		
+		assertThat(listedEntries.keySet()).extracting(File::getName)
+			.containsExactly("library.jar", "application.jar", "dependency.jar", "classes", "broken.jar");
+		assertThat(listedEntries.values()).containsExactly(1, 1, 1, 1, 0);
+		assertThat(filterCounts).contains("library.jar:1/1", "broken.jar:0/0");
+		assertThat(errors).containsExactly(broken);
+	}
+	
+	@Test
+	public void failOnUnreadableElement() throws IOException {
+		final File broken = folder.newFile("broken.jar");
+		final ClassLoader brokenClassLoader = new URLClassLoader(new URL[]{broken.toURI().toURL()}, classLoader);
+		
+		assertThat(ClassPathScanner.of(brokenClassLoader).getResources()).hasSize(5);
+		assertThatThrownBy(() -> ClassPathScanner.of(brokenClassLoader).failOnError().getResources())
+			.isInstanceOf(ScanException.class)
+			.hasCauseInstanceOf(IOException.class)
+			.matches(e -> ((ScanException) e).getFile().equals(broken));
+		assertThatThrownBy(() -> ClassPathScanner.of(brokenClassLoader).failOnError().parallel(executor).getResources())
+			.isInstanceOf(ScanException.class);
+		assertThatThrownBy(() -> ClassPathScanner.of(brokenClassLoader).failOnError().stream().count())
+			.isInstanceOf(ScanException.class);
+	}
+	
+	@Test
+	public void ignoreMissingElementsWhenFailingOnError() throws IOException {
+		final File missing = new File(folder.getRoot(), "missing.jar");
+		final ClassLoader missingClassLoader = new URLClassLoader(new URL[]{missing.toURI().toURL()}, classLoader);
+		
+		assertThat(ClassPathScanner.of(missingClassLoader).failOnError().getResources()).hasSize(5);
+	}
+	
+	@Test
+	public void getResourcesOfNestedJars() throws IOException {
+		final File fatJar = fatJar();
+		final ClassLoader fatJarClassLoader = new URLClassLoader(new URL[]{fatJar.toURI().toURL()}, null);
+		final ClassLoader launcherClassLoader = new LauncherClassLoader(fatJarClassLoader, fatJar);
+		final ClassPathScanner scanner = ClassPathScanner.of(launcherClassLoader).nestedJars();
+		
+		assertThat(scanner.getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly(
+				"com/boot/Boot.class",
+				"com/boot/application.properties",
+				"org/stored/Stored.class",
+				"org/deflated/Deflated.class",
+				"org/springframework/boot/loader/JarLauncher.class"
+			);
+		assertThat(scanner.getResources())
+			.filteredOn(resource -> !resource.getResource().startsWith("org/springframework/"))
+			.extracting(ResourceMetadata::getUrl)
+			.allMatch(url -> url.getProtocol().equals("jar"));
+		assertThat(scanner.stream())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactlyElementsOf(scanner.getResources().stream().map(ResourceMetadata::getResource).collect(Collectors.toList()));
+	}
+	
+	@Test
+	public void loadNestedClassesFromTheirClassLoader() throws IOException {
+		final String className = ScanException.class.getName();
+		final String resourceName = className.replace('.', '/') + ".class";
+		final File fatJar = new File(folder.getRoot(), "launched.jar");
+		
+		try(final JarOutputStream jar = new JarOutputStream(new FileOutputStream(fatJar))) {
+			put(jar, "BOOT-INF/classes/" + resourceName, Files.readAllBytes(new File(ScanException.class.getResource(ScanException.class.getSimpleName() + ".class").getFile()).toPath()), ZipEntry.DEFLATED);
+			put(jar, "BOOT-INF/lib/stored.jar", Files.readAllBytes(jar("stored.jar", null, "org/stored/Stored.class").toPath()), ZipEntry.STORED);
+		}
+		
+		final ClassLoader fatJarClassLoader = new URLClassLoader(new URL[]{fatJar.toURI().toURL()}, null);
+		final ClassLoader launchedClassLoader = new URLClassLoader(new URL[]{new URL("jar:" + fatJar.toURI().toURL() + "!/BOOT-INF/classes/")}, fatJarClassLoader);
+		final Set<ResourceMetadata> resources = ClassPathScanner.of(launchedClassLoader).nestedJars().getResources();
+		
+		assertThat(resources).extracting(ResourceMetadata::getResource).containsExactly(resourceName);
+		
+		final ClassMetadata classMetadata = (ClassMetadata) resources.iterator().next();
+		
+		assertThat(classMetadata.getUrl().toString()).endsWith("!/BOOT-INF/classes/" + resourceName);
+		assertThat(classMetadata.load()).hasValueSatisfying(type -> {
+			assertThat(type.getName()).isEqualTo(className);
+			assertThat(type.getClassLoader()).isSameAs(launchedClassLoader);
+		});
+	}
+	
+	@Test
+	public void ignoreNestedElementsWithoutClassLoader() throws IOException {
+		final ClassLoader fatJarClassLoader = new URLClassLoader(new URL[]{fatJar().toURI().toURL()}, null);
+		
+		assertThat(ClassPathScanner.of(fatJarClassLoader).nestedJars().getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly("org/springframework/boot/loader/JarLauncher.class");
+		assertThat(ClassPathScanner.of(fatJarClassLoader).nestedJars().stream())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly("org/springframework/boot/loader/JarLauncher.class");
+	}
+	
+	@Test
+	public void readEnclosingArchiveOncePerScan() throws IOException {
+		final File fatJar = fatJar();
+		final ClassPathScanner scanner = ClassPathScanner.of(new URLClassLoader(new URL[]{fatJar.toURI().toURL()}, null)).nestedJars();
+		final ScanOptions options = scanner.getOptions();
+		final ZipDirectory archive = options.getEnclosingArchive(fatJar);
+		
+		assertThat(options.getEnclosingArchive(fatJar)).isSameAs(archive);
+		assertThat(scanner.getOptions().getEnclosingArchive(fatJar)).isNotSameAs(archive);
+	}
+	
+	@Test
+	public void getContentOfScannedResources() throws IOException {
+		final Set<ResourceMetadata> resources = ClassPathScanner.of(classLoader).getResources();
+		
+		assertThat(resources).hasSize(5);
+		for(ResourceMetadata resource : resources) {
+			assertThat(resource.getOrigin()).isNotNull();
+			assertThat(new String(resource.getBytes())).isEqualTo(resource.getResource());
+		}
+	}
+	
+	@Test
+	public void getContentOfNestedResources() throws IOException {
+		final File fatJar = fatJar();
+		final ClassLoader fatJarClassLoader = new URLClassLoader(new URL[]{fatJar.toURI().toURL()}, null);
+		final Map<String, String> contents = new LinkedHashMap<>();
+		
+		ResourceMetadata.readAll(ClassPathScanner.of(new LauncherClassLoader(fatJarClassLoader, fatJar)).nestedJars().getResources(), (resource, content) -> {
+			final byte[] bytes = new byte[content.remaining()];
+			
+			content.get(bytes);
+			contents.put(resource.getResource(), new String(bytes));
+		});
+		
+		assertThat(contents).containsExactly(
+			entry("com/boot/Boot.class", ""),
+			entry("com/boot/application.properties", ""),
+			entry("org/stored/Stored.class", "org/stored/Stored.class"),
+			entry("org/deflated/Deflated.class", "org/deflated/Deflated.class"),
+			entry("org/springframework/boot/loader/JarLauncher.class", "")
+		);
+	}
+	
+	@Test
+	public void getContentOfStoredEntryInPlace() throws IOException {
+		final File archive = new File(folder.getRoot(), "stored.zip");
+		
+		try(final ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(archive))) {
+			put(zip, "org/stored/descriptor.json", "{}".getBytes(), ZipEntry.STORED);
+		}
+		
+		final ClassLoader archiveClassLoader = new URLClassLoader(new URL[]{archive.toURI().toURL()}, null);
+		final ResourceMetadata resource = ClassPathScanner.of(archiveClassLoader).getResources().iterator().next();
+		final ByteBuffer content = resource.getContent();
+		
+		assertThat(content.isDirect()).isTrue();
+		assertThat(content.isReadOnly()).isTrue();
+		assertThat(resource.getBytes()).isEqualTo("{}".getBytes());
+	}
+	
+	@Test
+	public void ignoreNestedJarsByDefault() throws IOException {
+		final ClassLoader fatJarClassLoader = new URLClassLoader(new URL[]{fatJar().toURI().toURL()}, null);
+		
+		assertThat(ClassPathScanner.of(fatJarClassLoader).getResources())
+			.extracting(ResourceMetadata::getResource)
+			.contains("BOOT-INF/classes/com/boot/Boot.class", "BOOT-INF/lib/stored.jar")
+			.doesNotContain("org/stored/Stored.class");
+	}
+	
+	@Test
+	public void getResourcesOfNestedJarUrls() throws IOException {
+		final String fatJarUrl = "jar:" + fatJar().toURI().toURL() + "!/";
+		final ClassLoader launchedClassLoader = new URLClassLoader(new URL[]{
+			new URL(fatJarUrl + "BOOT-INF/classes!/"),
+			new URL(fatJarUrl + "BOOT-INF/lib/stored.jar!/")
+		}, null);
+		
+		assertThat(ClassPathScanner.of(launchedClassLoader).filter(PackageFilter.withSubpackages("com.boot").or(PackageFilter.of("org.stored"))).getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly(
+				"com/boot/Boot.class",
+				"com/boot/application.properties",
+				"org/stored/Stored.class"
+			);
+	}
+	
+	@Test
+	public void getResourcesOfSystemClassLoader() {
+		final Filter thisClass = (loader, resourceName) -> resourceName.equals("io/fries/reflection/scanners/ClassPathScannerTest.class");
+		
+		assertThat(ClassPathScanner.of(ClassLoader.getSystemClassLoader()).filter(thisClass).getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly("io/fries/reflection/scanners/ClassPathScannerTest.class");
+	}
+	
+	@Test
+	public void getResourcesOfSystemModules() {
+		assumeTrue(!ModuleSupport.getSystemModules().isEmpty());
+		
+		final Set<ResourceMetadata> resources = ClassPathScanner.of(classLoader)
+			.systemModules()
+			.filter(PackageFilter.of("java.lang"))
+			.getResources();
+		
+		assertThat(resources)
+			.extracting(ResourceMetadata::getResource)
+			.contains("java/lang/Object.class", "java/lang/String.class")
+			.doesNotContain("java/lang/reflect/Method.class", "org/library/Library.class");
+		assertThat(resources.iterator().next().getUrl()).isNotNull();
+	}
+	
+	@Test
+	public void ignoreSystemModulesByDefault() {
+		assertThat(ClassPathScanner.of(ClassLoader.getSystemClassLoader()).filter(PackageFilter.of("java.lang")).getResources())
+			.isEmpty();
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void nullListener() {
+		ClassPathScanner.of(classLoader).listener(null);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void nullExecutor() {
+		ClassPathScanner.of(classLoader).parallel(null);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void nullCache() {
+		ClassPathScanner.of(classLoader).cache(null);
+	}
+	
+	private static void write(final File root, final String resourceName) throws IOException {
+		final File file = new File(root, resourceName);
+		
+		Files.createDirectories(file.getParentFile().toPath());
+		Files.write(file.toPath(), resourceName.getBytes());
+	}
+	
+	/**
+	 * Executable JAR laid out like a Spring Boot archive, with a stored and a deflated nested JAR.
+	 */
+	private File fatJar() throws IOException {
+		final File file = new File(folder.getRoot(), "fat.jar");
+		
+		try(final JarOutputStream jar = new JarOutputStream(new FileOutputStream(file))) {
+			put(jar, "org/springframework/boot/loader/JarLauncher.class", new byte[0], ZipEntry.DEFLATED);
+			put(jar, "BOOT-INF/classes/com/boot/Boot.class", new byte[0], ZipEntry.DEFLATED);
+			put(jar, "BOOT-INF/classes/com/boot/application.properties", new byte[0], ZipEntry.DEFLATED);
+			put(jar, "BOOT-INF/lib/stored.jar", Files.readAllBytes(jar("stored.jar", null, "org/stored/Stored.class").toPath()), ZipEntry.STORED);
+			put(jar, "BOOT-INF/lib/deflated.jar", Files.readAllBytes(jar("deflated.jar", null, "org/deflated/Deflated.class").toPath()), ZipEntry.DEFLATED);
+		}
+		
+		return file;
+	}
+	
+	/**
+	 * Stand-in for the launcher of the {@link #fatJar()}: finds the resources of its nested elements, which cannot be read
+	 * through the JDK's URLs, without listing them as URLs.
+	 */
+	private static final class LauncherClassLoader extends ClassLoader {
+		
+		private final Map<String, URL> urls;
+		
+		private LauncherClassLoader(final ClassLoader parent, final File fatJar) throws IOException {
+			super(parent);
+			
+			final String fatJarUrl = "jar:" + fatJar.toURI().toURL() + "!/";
+			
+			this.urls = new HashMap<>();
+			this.urls.put("com/boot/Boot.class", new URL(fatJarUrl + "BOOT-INF/classes!/com/boot/Boot.class"));
+			this.urls.put("com/boot/application.properties", new URL(fatJarUrl + "BOOT-INF/classes!/com/boot/application.properties"));
+			this.urls.put("org/stored/Stored.class", new URL(fatJarUrl + "BOOT-INF/lib/stored.jar!/org/stored/Stored.class"));
+			this.urls.put("org/deflated/Deflated.class", new URL(fatJarUrl + "BOOT-INF/lib/deflated.jar!/org/deflated/Deflated.class"));
+		}
+		
+		@Override
+		protected URL findResource(final String name) {
+			return urls.get(name);
+		}
+		
+		@Override
+		protected Enumeration<URL> findResources(final String name) {
+			return urls.containsKey(name) ? Collections.enumeration(Collections.singleton(urls.get(name))) : Collections.emptyEnumeration();
+		}
+	}
+	
+	private static void put(final ZipOutputStream zip, final String name, final byte[] content, final int method) throws IOException {
+		final ZipEntry entry = new ZipEntry(name);
+		
+		entry.setMethod(method);
+		if(method == ZipEntry.STORED) {
+			final CRC32 crc = new CRC32();
+			crc.update(content);
+			entry.setSize(content.length);
+			entry.setCrc(crc.getValue());
+		}
+		
+		zip.putNextEntry(entry);
+		zip.write(content);
+		zip.closeEntry();
+	}
+	
+	/**
+	 * JAR file whose size only depends on the length of its resource names: its entries are stored, with their names as
+	 * content.
+	 */
+	private File storedJar(final String name, final String... resourceNames) throws IOException {
+		final File file = new File(folder.getRoot(), name);
+		
+		try(final ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(file))) {
+			for(String resourceName : resourceNames)
+				put(zip, resourceName, resourceName.getBytes(), ZipEntry.STORED);
+		}
+		
+		return file;
+	}
+	
+	private File jar(final String name, final String classPath, final String... resourceNames) throws IOException {
+		final File file = new File(folder.getRoot(), name);
+		final Manifest manifest = new Manifest();
+		
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		if(classPath != null)
+			manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, classPath);
+		
+		try(final JarOutputStream jar = new JarOutputStream(new FileOutputStream(file), manifest)) {
+			for(String resourceName : resourceNames) {
+				jar.putNextEntry(new JarEntry(resourceName));
+				jar.write(resourceName.getBytes());
+				jar.closeEntry();
+			}
+		}
+		
+		return file;
+	}
+}
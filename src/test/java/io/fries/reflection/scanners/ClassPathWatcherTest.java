@@ -0,0 +1,151 @@
+package io.fries.reflection.scanners;
+
+import io.fries.reflection.metadata.ResourceMetadata;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClassPathWatcherTest {
+	
+	private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private File classes;
+	private ClassPathWatcher watcher;
+	
+	@Before
+	public void setup() throws IOException {
+		classes = folder.newFolder("classes");
+		write("com/example/Example.class");
+		
+		final ClassLoader classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, null);
+		watcher = ClassPathScanner.of(classLoader).filter((loader, name) -> name.endsWith(".class")).watch();
+	}
+	
+	@After
+	public void tearDown() throws IOException {
+		watcher.close();
+	}
+	
+	@Test
+	public void getResources() {
+		assertThat(watcher.getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly("com/example/Example.class");
+	}
+	
+	@Test
+	public void createResource() throws IOException, InterruptedException {
+		write("com/example/sub/Handler.class");
+		write("com/example/sub/handler.xml");
+		
+		assertThat(await(names -> names.contains("com/example/sub/Handler.class")))
+			.containsExactlyInAnyOrder("com/example/Example.class", "com/example/sub/Handler.class");
+	}
+	
+	@Test
+	public void deleteResource() throws IOException, InterruptedException {
+		Files.delete(new File(classes, "com/example/Example.class").toPath());
+		
+		assertThat(await(Set::isEmpty)).isEmpty();
+	}
+	
+	@Test
+	public void publishOnlyChangedResources() throws IOException, InterruptedException {
+		final List<Set<ResourceMetadata>> snapshots = new CopyOnWriteArrayList<>();
+		watcher.onUpdate(snapshots::add);
+		
+		write("com/example/ignored.xml");
+		write("com/example/Other.class");
+		await(names -> names.contains("com/example/Other.class"));
+		
+		assertThat(snapshots)
+			.isNotEmpty()
+			.allSatisfy(snapshot -> assertThat(snapshot).extracting(ResourceMetadata::getResource).contains("com/example/Other.class"));
+	}
+	
+	@Test
+	public void keepWatchingAfterFailures() throws IOException, InterruptedException {
+		final List<Exception> errors = new CopyOnWriteArrayList<>();
+		final ClassLoader classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, null);
+		
+		try(final ClassPathWatcher failingWatcher = ClassPathScanner.of(classLoader)
+			.filter((loader, name) -> {
+				if(name.endsWith("Broken.class"))
+					throw new IllegalStateException(name);
+				
+				return name.endsWith(".class");
+			})
+			.listener(new ScanListener() {
+				@Override
+				public void onError(final File file, final Exception exception) {
+					errors.add(exception);
+				}
+			})
+			.watch()) {
+			failingWatcher.onUpdate(resources -> {
+				throw new IllegalStateException("Listener failure");
+			});
+			write("com/example/Broken.class");
+			write("com/example/First.class");
+			await(failingWatcher, names -> names.contains("com/example/First.class"));
+			write("com/example/Second.class");
+			
+			assertThat(await(failingWatcher, names -> names.contains("com/example/Second.class"))).contains("com/example/First.class", "com/example/Second.class");
+			assertThat(errors).extracting(Exception::getMessage).contains("com/example/Broken.class", "Listener failure");
+		}
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void snapshotIsImmutable() {
+		watcher.getResources().clear();
+	}
+	
+	private void write(final String resourceName) throws IOException {
+		final File file = new File(classes, resourceName);
+		
+		Files.createDirectories(file.getParentFile().toPath());
+		Files.write(file.toPath(), resourceName.getBytes());
+	}
+	
+	private Set<String> await(final Predicate<Set<String>> condition) throws InterruptedException {
+		return await(watcher, condition);
+	}
+	
+	private static Set<String> await(final ClassPathWatcher watcher, final Predicate<Set<String>> condition) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + TIMEOUT;
+		Set<String> names;
+		
+		do {
+			names = watcher.getResources().stream()
+				.map(ResourceMetadata::getResource)
+				.collect(Collectors.toSet());
+			
+			if(condition.test(names))
+				break;
+			
+			Thread.sleep(50);
+		}
+		while(System.currentTimeMillis() < deadline);
+		
+		return names;
+	}
+}
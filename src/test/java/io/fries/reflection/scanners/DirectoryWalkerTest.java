@@ -0,0 +1,126 @@
+package io.fries.reflection.scanners;
+
+import io.fries.reflection.filters.Filter;
+import io.fries.reflection.filters.PackageFilter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class DirectoryWalkerTest {
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private ExecutorService executor;
+	private Path root;
+	
+	@Before
+	public void setup() throws IOException {
+		executor = Executors.newFixedThreadPool(2);
+		root = folder.newFolder("classes").toPath();
+		
+		for(String packageName : new String[]{"com/example", "com/example/api", "com/example/impl", "org/other", "META-INF"}) {
+			for(int i = 0; i < 3; i++)
+				write(packageName + "/Resource" + i + ".class");
+		}
+		
+		write("root.properties");
+	}
+	
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+	
+	@Test
+	public void walkAllResources() {
+		final List<String> resources = walk(new FilterChain(Collections.emptyList()), null);
+		
+		assertThat(resources)
+			.hasSize(16)
+			.contains("root.properties", "com/example/Resource0.class", "com/example/impl/Resource2.class", "META-INF/Resource1.class");
+	}
+	
+	@Test
+	public void walkConcurrentlyInSameOrder() {
+		final FilterChain filters = new FilterChain(Collections.emptyList());
+		
+		assertThat(walk(filters, executor)).containsExactlyElementsOf(walk(filters, null));
+	}
+	
+	@Test
+	public void measureFiltersOfAllThreads() {
+		final Filter classFiles = (classLoader, resourceName) -> resourceName.endsWith(".class");
+		final FilterChain filters = new FilterChain(Collections.singletonList(classFiles)).measure();
+		final long[] counts = new long[2];
+		
+		walk(filters, executor);
+		filters.report(new ScanListener() {
+			@Override
+			public void onFilterEvaluated(final File file, final Filter filter, final long accepted, final long rejected, final long nanos) {
+				counts[0] += accepted;
+				counts[1] += rejected;
+			}
+		}, root.toFile());
+		
+		assertThat(counts).containsExactly(15, 1);
+	}
+	
+	@Test
+	public void skipRejectedPackages() {
+		final FilterChain filters = new FilterChain(Collections.singletonList(PackageFilter.of("com.example.api")));
+		
+		assertThat(walk(filters, null))
+			.containsExactlyInAnyOrder("com/example/api/Resource0.class", "com/example/api/Resource1.class", "com/example/api/Resource2.class");
+		assertThat(walk(filters, executor)).containsExactlyElementsOf(walk(filters, null));
+	}
+	
+	@Test
+	public void ignoreSymbolicLinkLoops() throws IOException {
+		try {
+			Files.createSymbolicLink(root.resolve("com/example/loop"), root.resolve("com"));
+		}
+		catch(final UnsupportedOperationException | IOException e) {
+			assumeTrue(false);
+		}
+		
+		final FilterChain filters = new FilterChain(Collections.emptyList());
+		
+		assertThat(walk(filters, null))
+			.hasSize(16)
+			.noneMatch(resourceName -> resourceName.startsWith("com/example/loop/"));
+		assertThat(walk(filters, executor)).containsExactlyElementsOf(walk(filters, null));
+	}
+	
+	private List<String> walk(final FilterChain filters, final ExecutorService executor) {
+		final List<String> resources = new ArrayList<>();
+		final List<Exception> errors = Collections.synchronizedList(new ArrayList<>());
+		
+		DirectoryWalker.walk(root, null, filters, executor, resources, errors::add);
+		
+		assertThat(errors).isEmpty();
+		return resources;
+	}
+	
+	private void write(final String resourceName) throws IOException {
+		final File file = new File(root.toFile(), resourceName);
+		
+		Files.createDirectories(file.getParentFile().toPath());
+		Files.write(file.toPath(), resourceName.getBytes());
+	}
+}
@@ -0,0 +1,80 @@
+package io.fries.reflection.scanners;
+
+import io.fries.reflection.filters.Filter;
+import io.fries.reflection.filters.PackageFilter;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FilterChainTest {
+	
+	@Test
+	public void acceptEverythingWhenEmpty() {
+		final FilterChain chain = new FilterChain(Collections.emptyList());
+		
+		assertThat(chain.isEmpty()).isTrue();
+		assertThat(chain.accept(null, "com/example/Example.class", null)).isTrue();
+		assertThat(chain.acceptsPackage("com.example")).isTrue();
+	}
+	
+	@Test
+	public void runCheapestFiltersFirst() {
+		final List<String> calls = new ArrayList<>();
+		final FilterChain chain = new FilterChain(Arrays.asList(
+			filter("class", Filter.Cost.CLASS, calls),
+			filter("content", Filter.Cost.CONTENT, calls),
+			filter("first name", Filter.Cost.NAME, calls),
+			filter("second name", Filter.Cost.NAME, calls)
+		));
+		
+		assertThat(chain.accept(null, "com/example/Example.class", null)).isTrue();
+		assertThat(calls).containsExactly("first name", "second name", "content", "class");
+	}
+	
+	@Test
+	public void stopAtFirstRejection() {
+		final List<String> calls = new ArrayList<>();
+		final FilterChain chain = new FilterChain(Arrays.asList(
+			filter("content", Filter.Cost.CONTENT, calls),
+			PackageFilter.of("org.example")
+		));
+		
+		assertThat(chain.accept(null, "com/example/Example.class", null)).isFalse();
+		assertThat(calls).isEmpty();
+		assertThat(chain.acceptsPackage("com")).isFalse();
+	}
+	
+	@Test
+	public void acceptNameWithNameFiltersOnly() {
+		final List<String> calls = new ArrayList<>();
+		final FilterChain chain = new FilterChain(Arrays.asList(
+			filter("content", Filter.Cost.CONTENT, calls),
+			filter("name", Filter.Cost.NAME, calls),
+			PackageFilter.of("")
+		));
+		
+		assertThat(chain.acceptsName(null, "module-info.class")).isTrue();
+		assertThat(chain.acceptsName(null, "com/example/Example.class")).isFalse();
+		assertThat(calls).containsExactly("name", "name");
+	}
+	
+	private static Filter filter(final String name, final Filter.Cost cost, final List<String> calls) {
+		return new Filter() {
+			@Override
+			public boolean accept(final ClassLoader classLoader, final String resourceName) {
+				calls.add(name);
+				return true;
+			}
+			
+			@Override
+			public Cost getCost() {
+				return cost;
+			}
+		};
+	}
+}
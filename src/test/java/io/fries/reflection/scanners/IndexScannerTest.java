@@ -0,0 +1,152 @@
+package io.fries.reflection.scanners;
+
+import io.fries.reflection.metadata.ResourceMetadata;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IndexScannerTest {
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private File classes;
+	private File indexedJar;
+	private File plainJar;
+	
+	@Before
+	public void setup() throws IOException {
+		classes = folder.newFolder("classes");
+		write(classes, "com/example/Example.class");
+		ReflectionIndex.write(classes, singletonList(classes));
+		
+		// Added after the index generation, so it must not be found by the IndexScanner
+		write(classes, "com/example/Unindexed.class");
+		
+		final File jarContent = folder.newFolder("jar");
+		write(jarContent, "org/library/Library.class");
+		ReflectionIndex.write(jarContent, singletonList(jarContent));
+		indexedJar = jar("indexed.jar", jarContent, "org/library/Library.class", ReflectionIndex.INDEX_NAME);
+		
+		plainJar = jar("plain.jar", jarContent, "org/library/Library.class");
+	}
+	
+	@Test
+	public void getIndexedResources() throws IOException {
+		final ClassLoader classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL(), indexedJar.toURI().toURL()}, null);
+		
+		assertThat(IndexScanner.of(classLoader).getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly(
+				"com/example/Example.class",
+				"org/library/Library.class"
+			);
+	}
+	
+	@Test
+	public void getResourcesWithoutIndex() throws IOException {
+		final ClassLoader classLoader = new URLClassLoader(new URL[]{plainJar.toURI().toURL()}, null);
+		
+		assertThat(IndexScanner.of(classLoader).getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly("org/library/Library.class");
+	}
+	
+	@Test
+	public void getFilteredIndexedResources() throws IOException {
+		final ClassLoader classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL(), indexedJar.toURI().toURL()}, null);
+		
+		assertThat(IndexScanner.of(classLoader).filter((loader, name) -> name.startsWith("org/")).getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactly("org/library/Library.class");
+	}
+	
+	@Test
+	public void getClassPathOfIndexedJar() throws IOException {
+		final File applicationContent = folder.newFolder("application");
+		write(applicationContent, "com/application/Application.class");
+		ReflectionIndex.write(applicationContent, singletonList(applicationContent));
+		
+		final Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, plainJar.getName());
+		
+		final File applicationJar = jar("application.jar", applicationContent, manifest, "com/application/Application.class", ReflectionIndex.INDEX_NAME);
+		final ClassLoader classLoader = new URLClassLoader(new URL[]{applicationJar.toURI().toURL()}, null);
+		
+		assertThat(IndexScanner.of(classLoader).getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactlyInAnyOrder(
+				"com/application/Application.class",
+				"org/library/Library.class"
+			);
+	}
+	
+	@Test
+	public void getVersionedResourcesOfIndexedJar() throws IOException {
+		final File main = folder.newFolder("main");
+		final File java9 = folder.newFolder("java9");
+		final File release = folder.newFolder("release");
+		write(main, "org/library/Library.class");
+		write(java9, "org/library/Library.class");
+		write(release, "org/library/Library.class");
+		write(release, "META-INF/versions/9/org/library/Library.class");
+		ReflectionIndex.main(new String[]{release.getPath(), main.getPath(), "--prefix=META-INF/versions/9/", java9.getPath()});
+		
+		final File releaseJar = jar("release.jar", release, "org/library/Library.class", "META-INF/versions/9/org/library/Library.class", ReflectionIndex.INDEX_NAME);
+		final ClassLoader classLoader = new URLClassLoader(new URL[]{releaseJar.toURI().toURL()}, null);
+		
+		assertThat(IndexScanner.of(classLoader).getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactlyInAnyOrder(
+				"org/library/Library.class",
+				"META-INF/versions/9/org/library/Library.class"
+			);
+		assertThat(ClassPathScanner.of(classLoader).filter((loader, name) -> !name.equals(ReflectionIndex.INDEX_NAME)).getResources())
+			.extracting(ResourceMetadata::getResource)
+			.containsExactlyInAnyOrder(
+				"org/library/Library.class",
+				"META-INF/versions/9/org/library/Library.class"
+			);
+	}
+	
+	private static void write(final File root, final String resourceName) throws IOException {
+		final File file = new File(root, resourceName);
+		
+		Files.createDirectories(file.getParentFile().toPath());
+		Files.write(file.toPath(), resourceName.getBytes());
+	}
+	
+	private File jar(final String name, final File content, final String... resourceNames) throws IOException {
+		return jar(name, content, new Manifest(), resourceNames);
+	}
+	
+	private File jar(final String name, final File content, final Manifest manifest, final String... resourceNames) throws IOException {
+		final File file = new File(folder.getRoot(), name);
+		
+		try(final JarOutputStream jar = new JarOutputStream(new FileOutputStream(file), manifest)) {
+			for(String resourceName : resourceNames) {
+				jar.putNextEntry(new JarEntry(resourceName));
+				jar.write(Files.readAllBytes(new File(content, resourceName).toPath()));
+				jar.closeEntry();
+			}
+		}
+		
+		return file;
+	}
+}
@@ -0,0 +1,60 @@
+package io.fries.reflection.scanners;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JfrScanListenerTest {
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	@Test
+	public void commitEvents() throws IOException {
+		final File classes = folder.newFolder("classes");
+		final File resource = new File(classes, "com/example/Example.class");
+		Files.createDirectories(resource.getParentFile().toPath());
+		Files.write(resource.toPath(), new byte[]{1, 2, 3});
+		
+		final ClassLoader classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, null);
+		final Path output = folder.getRoot().toPath().resolve("scan.jfr");
+		
+		try(final Recording recording = new Recording()) {
+			recording.enable("io.fries.reflection.ClassPathEntry");
+			recording.enable("io.fries.reflection.Filter");
+			recording.start();
+			
+			ClassPathScanner.of(classLoader)
+				.filter((loader, name) -> name.endsWith(".class"))
+				.listener(new JfrScanListener())
+				.getResources();
+			
+			recording.stop();
+			recording.dump(output);
+		}
+		
+		final List<RecordedEvent> events = RecordingFile.readAllEvents(output);
+		
+		assertThat(events)
+			.filteredOn(event -> event.getEventType().getName().equals("io.fries.reflection.ClassPathEntry"))
+			.extracting(event -> event.getString("file") + ':' + event.getInt("resources"))
+			.containsExactly(classes.getPath() + ":1");
+		assertThat(events)
+			.filteredOn(event -> event.getEventType().getName().equals("io.fries.reflection.Filter"))
+			.extracting(event -> event.getLong("accepted"))
+			.containsExactly(1L);
+	}
+}
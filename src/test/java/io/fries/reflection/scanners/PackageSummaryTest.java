@@ -0,0 +1,71 @@
+package io.fries.reflection.scanners;
+
+import io.fries.reflection.filters.Filter;
+import io.fries.reflection.filters.PackageFilter;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PackageSummaryTest {
+	
+	private static final PackageSummary SUMMARY = PackageSummary.of(Arrays.asList(
+		"module-info.class",
+		"LICENSE",
+		"org/library/Library.class",
+		"org/library/Library$Builder.class",
+		"org/library/internal/Support.class",
+		"org/library/Library.properties",
+		"META-INF/services/org.library.Library"
+	));
+	
+	@Test
+	public void listPackages() {
+		assertThat(SUMMARY.getPackages()).containsExactlyInAnyOrder("org.library", "org.library.internal", "META-INF.services");
+	}
+	
+	@Test
+	public void matchEverythingWithoutFilters() {
+		assertThat(SUMMARY.mayMatch(new FilterChain(Collections.emptyList()), null)).isTrue();
+	}
+	
+	@Test
+	public void matchAcceptedPackage() {
+		assertThat(SUMMARY.mayMatch(chain(PackageFilter.of("org.library.internal")), null)).isTrue();
+		assertThat(SUMMARY.mayMatch(chain(PackageFilter.withSubpackages("org")), null)).isTrue();
+	}
+	
+	@Test
+	public void skipOtherPackagesDespiteRootResources() {
+		assertThat(SUMMARY.mayMatch(chain(PackageFilter.withSubpackages("com.acme")), null)).isFalse();
+		assertThat(SUMMARY.mayMatch(chain(PackageFilter.of("org")), null)).isFalse();
+	}
+	
+	@Test
+	public void skipParentPackagesOfFilteredPackage() {
+		final PackageSummary summary = PackageSummary.of(Collections.singletonList("com/Foo.class"));
+		
+		assertThat(summary.mayMatch(chain(PackageFilter.of("com.acme")), null)).isFalse();
+		assertThat(summary.mayMatch(chain(PackageFilter.withSubpackages("com.acme")), null)).isFalse();
+		assertThat(summary.mayMatch(chain(PackageFilter.withSubpackages("com")), null)).isTrue();
+	}
+	
+	@Test
+	public void matchRootResourcesByName() {
+		assertThat(SUMMARY.mayMatch(chain(PackageFilter.of("")), null)).isTrue();
+		assertThat(PackageSummary.of(Collections.singletonList("org/library/Library.class")).mayMatch(chain(PackageFilter.of("")), null)).isFalse();
+	}
+	
+	@Test
+	public void matchWhenFiltersCannotRejectPackages() {
+		final Filter contentFilter = (classLoader, resourceName) -> false;
+		
+		assertThat(SUMMARY.mayMatch(chain(contentFilter), null)).isTrue();
+	}
+	
+	private static FilterChain chain(final Filter filter) {
+		return new FilterChain(Collections.singletonList(filter));
+	}
+}
@@ -0,0 +1,76 @@
+package io.fries.reflection.scanners;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SharedScanCacheTest {
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private SharedScanCache cache;
+	private File first;
+	private File second;
+	private File third;
+	
+	@Before
+	public void setup() throws IOException {
+		cache = new SharedScanCache(4);
+		first = folder.newFile("first.jar");
+		second = folder.newFile("second.jar");
+		third = folder.newFile("third.jar");
+	}
+	
+	@Test
+	public void readWrittenIndex() {
+		final JarIndex index = index("org/first/First.class");
+		
+		cache.write(first, first.length(), first.lastModified(), index);
+		
+		assertThat(cache.read(first)).containsSame(index);
+		assertThat(cache.read(new File(folder.getRoot(), "../" + folder.getRoot().getName() + "/first.jar"))).containsSame(index);
+		assertThat(cache.read(second)).isEmpty();
+	}
+	
+	@Test
+	public void discardOutdatedIndex() throws IOException {
+		cache.write(first, first.length(), first.lastModified(), index("org/first/First.class"));
+		Files.write(first.toPath(), new byte[]{1});
+		
+		assertThat(cache.read(first)).isEmpty();
+		assertThat(cache.size()).isZero();
+	}
+	
+	@Test
+	public void evictLeastRecentlyUsedIndexes() {
+		cache.write(first, first.length(), first.lastModified(), index("a", "b"));
+		cache.write(second, second.length(), second.lastModified(), index("c"));
+		cache.read(first);
+		cache.write(third, third.length(), third.lastModified(), index("d", "e"));
+		
+		assertThat(cache.read(first)).isPresent();
+		assertThat(cache.read(second)).isEmpty();
+		assertThat(cache.read(third)).isPresent();
+	}
+	
+	@Test
+	public void ignoreIndexLargerThanBound() {
+		cache.write(first, first.length(), first.lastModified(), index("a", "b", "c", "d", "e"));
+		
+		assertThat(cache.size()).isZero();
+	}
+	
+	private static JarIndex index(final String... resources) {
+		return new JarIndex(new HashSet<>(), Arrays.asList(resources));
+	}
+}
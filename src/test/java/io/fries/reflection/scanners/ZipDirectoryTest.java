@@ -0,0 +1,141 @@
+package io.fries.reflection.scanners;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ZipDirectoryTest {
+	
+	private static final byte[] CONTENT = "<descriptor>content</descriptor>".getBytes(StandardCharsets.UTF_8);
+	
+	@Test
+	public void getDeflatedContent() throws IOException {
+		final ZipDirectory directory = ZipDirectory.read(ByteBuffer.wrap(zip(ZipEntry.DEFLATED)));
+		
+		assertThat(bytes(directory.getContent("descriptor.xml"))).isEqualTo(CONTENT);
+	}
+	
+	@Test
+	public void getContentOfZip64Entry() throws IOException {
+		final ZipDirectory directory = ZipDirectory.read(ByteBuffer.wrap(zip64()));
+		
+		assertThat(directory.getNames()).containsExactly("descriptor.xml");
+		assertThat(bytes(directory.getContent("descriptor.xml"))).isEqualTo(CONTENT);
+	}
+	
+	@Test
+	public void rejectDeflatedEntryShorterThanItsSize() throws IOException {
+		final byte[] zip = zip(ZipEntry.DEFLATED);
+		final ByteBuffer buffer = ByteBuffer.wrap(zip).order(ByteOrder.LITTLE_ENDIAN);
+		
+		buffer.putInt(centralHeader(zip) + 24, CONTENT.length + 10);
+		
+		assertThatThrownBy(() -> ZipDirectory.read(buffer).getContent("descriptor.xml")).isInstanceOf(ZipException.class);
+	}
+	
+	@Test
+	public void rejectDeflatedEntryLongerThanItsSize() throws IOException {
+		final byte[] zip = zip(ZipEntry.DEFLATED);
+		final ByteBuffer buffer = ByteBuffer.wrap(zip).order(ByteOrder.LITTLE_ENDIAN);
+		
+		buffer.putInt(centralHeader(zip) + 24, CONTENT.length - 10);
+		
+		assertThatThrownBy(() -> ZipDirectory.read(buffer).getContent("descriptor.xml")).isInstanceOf(ZipException.class);
+	}
+	
+	@Test
+	public void rejectTruncatedLocalHeader() throws IOException {
+		final byte[] zip = Arrays.copyOf(zip(ZipEntry.STORED), zip(ZipEntry.STORED).length + 4);
+		final ByteBuffer buffer = ByteBuffer.wrap(zip).order(ByteOrder.LITTLE_ENDIAN);
+		
+		buffer.putInt(zip.length - 4, 0x04034b50);
+		buffer.putInt(centralHeader(zip) + 42, zip.length - 4);
+		
+		assertThatThrownBy(() -> ZipDirectory.read(buffer).getContent("descriptor.xml")).isInstanceOf(ZipException.class);
+	}
+	
+	private static byte[] zip(final int method) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		
+		try(final ZipOutputStream zip = new ZipOutputStream(out)) {
+			final ZipEntry entry = new ZipEntry("descriptor.xml");
+			
+			entry.setMethod(method);
+			if(method == ZipEntry.STORED) {
+				entry.setSize(CONTENT.length);
+				entry.setCrc(crc());
+			}
+			
+			zip.putNextEntry(entry);
+			zip.write(CONTENT);
+			zip.closeEntry();
+		}
+		
+		return out.toByteArray();
+	}
+	
+	/**
+	 * A single stored entry whose sizes and offset are only given by its ZIP64 extended information extra field.
+	 */
+	private static byte[] zip64() {
+		final byte[] name = "descriptor.xml".getBytes(StandardCharsets.UTF_8);
+		final ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+		
+		buffer.putInt(0x04034b50).putShort((short) 45).putShort((short) 0).putShort((short) 0)
+			.putInt(0).putInt((int) crc()).putInt(CONTENT.length).putInt(CONTENT.length)
+			.putShort((short) name.length).putShort((short) 0).put(name).put(CONTENT);
+		
+		final int centralDirectory = buffer.position();
+		
+		buffer.putInt(0x02014b50).putShort((short) 45).putShort((short) 45).putShort((short) 0).putShort((short) 0)
+			.putInt(0).putInt((int) crc()).putInt(0xFFFFFFFF).putInt(0xFFFFFFFF)
+			.putShort((short) name.length).putShort((short) 28).putShort((short) 0)
+			.putShort((short) 0).putShort((short) 0).putInt(0).putInt(0xFFFFFFFF).put(name)
+			.putShort((short) 0x0001).putShort((short) 24).putLong(CONTENT.length).putLong(CONTENT.length).putLong(0);
+		
+		final int centralDirectorySize = buffer.position() - centralDirectory;
+		
+		buffer.putInt(0x06054b50).putShort((short) 0).putShort((short) 0).putShort((short) 1).putShort((short) 1)
+			.putInt(centralDirectorySize).putInt(centralDirectory).putShort((short) 0);
+		
+		final byte[] zip = new byte[buffer.position()];
+		buffer.flip();
+		buffer.get(zip);
+		return zip;
+	}
+	
+	private static int centralHeader(final byte[] zip) {
+		for(int i = zip.length - 4; i >= 0; i--) {
+			if(zip[i] == 0x50 && zip[i + 1] == 0x4b && zip[i + 2] == 0x01 && zip[i + 3] == 0x02)
+				return i;
+		}
+		
+		throw new IllegalStateException("No central directory header");
+	}
+	
+	private static long crc() {
+		final CRC32 crc = new CRC32();
+		
+		crc.update(CONTENT);
+		return crc.getValue();
+	}
+	
+	private static byte[] bytes(final ByteBuffer content) {
+		final byte[] bytes = new byte[content.remaining()];
+		
+		content.get(bytes);
+		return bytes;
+	}
+}